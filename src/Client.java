@@ -1,13 +1,15 @@
 import controllers.GameController;
+import inputs.AsyncConsoleInput;
 import models.*;
 import strategies.ColumnWinningStrategy;
 import strategies.RowWinningStrategy;
 import strategies.WinningStrategy;
+import views.BoardRenderer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.Scanner;
 
 // This class acts as the entry point of the application, simulating the user interaction part
 // (analogous to the frontend in a full-stack application).
@@ -19,16 +21,17 @@ public class Client {
         // invoke startGame() on GameController, it constructs and returns a Game object, abstracting
         // the complexities of game initialization.
         GameController gameController = new GameController();
-        Scanner sc = new Scanner(System.in);        // to take user input
+        AsyncConsoleInput input = AsyncConsoleInput.getInstance();   // user input, read on a background thread (shared with HumanPlayers)
         Random random = new Random();               // to select random values
+        BoardRenderer screen = new BoardRenderer();  // live board, redrawn cell by cell after each move
 
         try {
             //---------------------- Creating Players
             // Ideally, player information would be fetched from a PlayerController or input by the user.
             // Here, we simulate the frontend part where player data is hardcoded.
-            Player player1 = new HumanPlayer("11", "Akash", 'X');
+            Player player1 = new HumanPlayer("11", "Akash", 'X', input);
             Player player2 = new BotPlayer("12", "Botty", 'O', BotPlayingDifficulty.MEDIUM);
-            Player player3 = new HumanPlayer("13", "Tausif", 'T');
+            Player player3 = new HumanPlayer("13", "Tausif", 'T', input);
 
             // Create a list of players for the game. ( currently 2 players are playing "Akash" and Bot -> "Botty")
             List<Player> players = new ArrayList<>();
@@ -56,17 +59,27 @@ public class Client {
             // register a player's move).
             while (gameController.checkGameState(game).equals(GameState.IN_PROGRESS)) {
 
-                // Display the current state of the game board after each move.
-                gameController.display(game); // This simulates displaying the current board state.
-                gameController.makeMove(game); // This simulates a player making their move.
+                // Redraw the board after each move: only the cells that changed are drawn again.
+                gameController.redraw(game, screen); // This simulates displaying the current board state.
+
+                // A human player prints its prompts and then waits for the numbers; the console
+                // is read on a background thread, so the wait is a sleep until they arrive.
+                try {
+                    gameController.makeMove(game); // This simulates a player making their move.
+                } catch (NoSuchElementException e) {
+                    break;  // Console closed, nobody left to play.
+                }
 
                 //------------------- Undo feature (For human player only)
                 if(gameController.getCurrentPlayer(game).getPlayerType().equals(PlayerType.HUMAN)){
-                    gameController.display(game);
+                    gameController.redraw(game, screen);
                     System.out.println("Do you want to undo? Press 1 to confirm and 2 to continue.");
-                    int undo = sc.nextInt();
+                    if(!input.awaitInput(1)){
+                        break;
+                    }
+                    Integer undo = input.poll();
 
-                    if(undo == 1){
+                    if(undo != null && undo == 1){
                         gameController.undo(game);
                         continue;
                     }
@@ -87,6 +100,7 @@ public class Client {
                     break;
                 }
             }
+            gameController.endGame(game);  // The game may have been left unfinished (console closed).
 
         } catch (Exception e) {
             System.out.println("Error : " + e.getMessage());
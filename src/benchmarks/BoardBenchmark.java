@@ -0,0 +1,99 @@
+package benchmarks;
+
+import models.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Side-by-side comparison of the List<List<Cell>> Board and the bitset backed BitBoard.
+// Reports the retained heap per board and how many moves per second each one sustains
+// when a move is "check the cell is empty, then fill it" (what Game.makeMove does).
+//
+// Run: java benchmarks.BoardBenchmark [dimension] [boards]
+public class BoardBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int boardCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+
+        System.out.println("Board " + dimension + "x" + dimension + ", " + boardCount + " boards");
+        for (BoardType boardType : BoardType.values()) {
+            long bytesPerBoard = measureMemory(boardType, dimension, players, boardCount);
+            double movesPerSecond = measureMoves(boardType, dimension, players);
+            System.out.printf("%-9s %,10d bytes/board %,15.0f moves/sec%n", boardType, bytesPerBoard, movesPerSecond);
+        }
+    }
+
+    private static Board newBoard(BoardType boardType, int dimension, List<Player> players) {
+        return boardType == BoardType.BITBOARD ? new BitBoard(dimension, players) : new Board(dimension, players);
+    }
+
+    private static long measureMemory(BoardType boardType, int dimension, List<Player> players, int boardCount) {
+        Board[] boards = new Board[boardCount];
+        long before = usedHeap();
+        for (int i = 0; i < boardCount; i++) {
+            boards[i] = newBoard(boardType, dimension, players);
+        }
+        long after = usedHeap();
+        // Keep the boards reachable until after the measurement.
+        if (boards[boardCount - 1].getDimension() != dimension) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / boardCount;
+    }
+
+    private static double measureMoves(BoardType boardType, int dimension, List<Player> players) {
+        Board board = newBoard(boardType, dimension, players);
+        int cellCount = dimension * dimension;
+
+        // Visit the cells in a fixed random order so both boards do identical work.
+        int[] order = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(42);
+        for (int i = cellCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        long minMovesPerRound = Math.max(1, 20_000_000 / cellCount);
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long moves = 0;
+            long start = System.nanoTime();
+            while (moves < minMovesPerRound * cellCount) {
+                for (int i = 0; i < cellCount; i++) {
+                    int r = order[i] / dimension;
+                    int c = order[i] % dimension;
+                    if (board.isEmpty(r, c)) {
+                        board.fillCell(r, c, players.get(i % players.size()));
+                    }
+                }
+                for (int i = 0; i < cellCount; i++) {
+                    board.clearCell(order[i] / dimension, order[i] % dimension);
+                }
+                moves += cellCount;
+            }
+            long elapsed = System.nanoTime() - start;
+            best = Math.max(best, moves * 1e9 / elapsed);
+        }
+        return best;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
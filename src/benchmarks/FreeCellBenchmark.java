@@ -0,0 +1,108 @@
+package benchmarks;
+
+import models.*;
+import strategies.MediumBotPlayingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Cost of one MEDIUM bot pick at different fill ratios of a large board: the previous
+// approach (draw random cells until one is empty) against the current one (draw from the
+// board's FreeCellIndex). Also reports a chi-square statistic of the index picks over the
+// free cells, which stays around the number of free cells for a uniform pick.
+//
+// Run: java benchmarks.FreeCellBenchmark [dimension] [picks]
+public class FreeCellBenchmark {
+    public static void main(String[] args) {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int picks = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        double[] fillRatios = {0, 0.5, 0.9, 0.99, 0.999};
+
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+
+        System.out.printf("Board %dx%d, %,d picks per run%n", dimension, dimension, picks);
+        System.out.printf("%8s %8s %16s %16s %12s%n", "filled", "free", "retry ns/pick", "index ns/pick", "chi-square");
+        for (double fillRatio : fillRatios) {
+            Board board = new Board(dimension, players);
+            fill(board, players, fillRatio, new Random(1));
+            int free = board.getFreeCells().size();
+
+            Random random = new Random(2);
+            double retryNanos = measure(() -> retryPick(board, random), picks);
+            MediumBotPlayingStrategy strategy = new MediumBotPlayingStrategy(new Random(3));
+            double indexNanos = measure(() -> {
+                Cell cell = strategy.makeMove(board);
+                return cell.getRow() * dimension + cell.getCol();
+            }, picks);
+
+            System.out.printf("%7.1f%% %8d %16.1f %16.1f %12.1f%n",
+                    fillRatio * 100, free, retryNanos, indexNanos, chiSquare(board, strategy, picks));
+        }
+    }
+
+    interface Pick {
+        int pick();
+    }
+
+    private static double measure(Pick pick, int picks) {
+        long sink = 0;
+        for (int i = 0; i < picks; i++) {   // warmup
+            sink += pick.pick();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < picks; i++) {
+            sink += pick.pick();
+        }
+        long nanos = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println();
+        }
+        return (double) nanos / picks;
+    }
+
+    // The MEDIUM bot before the free cell index: random cells until one is empty.
+    private static int retryPick(Board board, Random random) {
+        int dimension = board.getDimension();
+        while (true) {
+            int row = random.nextInt(dimension);
+            int col = random.nextInt(dimension);
+            if (board.isEmpty(row, col)) {
+                return row * dimension + col;
+            }
+        }
+    }
+
+    private static double chiSquare(Board board, MediumBotPlayingStrategy strategy, int picks) {
+        int dimension = board.getDimension();
+        int[] counts = new int[dimension * dimension];
+        for (int i = 0; i < picks; i++) {
+            Cell cell = strategy.makeMove(board);
+            counts[cell.getRow() * dimension + cell.getCol()]++;
+        }
+        FreeCellIndex freeCells = board.getFreeCells();
+        double expected = (double) picks / freeCells.size();
+        double chiSquare = 0;
+        for (int i = 0; i < freeCells.size(); i++) {
+            double difference = counts[freeCells.get(i)] - expected;
+            chiSquare += difference * difference / expected;
+        }
+        return chiSquare;
+    }
+
+    // Fills the given share of the cells at random (at least one cell stays free).
+    private static void fill(Board board, List<Player> players, double fillRatio, Random random) {
+        int dimension = board.getDimension();
+        int target = Math.min((int) (fillRatio * dimension * dimension), dimension * dimension - 1);
+        for (int filled = 0; filled < target; ) {
+            int row = random.nextInt(dimension);
+            int col = random.nextInt(dimension);
+            if (board.isEmpty(row, col)) {
+                board.fillCell(row, col, players.get(filled % players.size()));
+                filled++;
+            }
+        }
+    }
+}
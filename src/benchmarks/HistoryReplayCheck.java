@@ -0,0 +1,138 @@
+package benchmarks;
+
+import models.*;
+import strategies.ColumnWinningStrategy;
+import strategies.LineWinningStrategy;
+import strategies.RowWinningStrategy;
+import strategies.WinningStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Checks the game history (undo, redo, rewindTo and checkpoints) against a full replay.
+// Random games of three players on both board types mix moves, undos, redos and jumps
+// with rewindTo, with a random checkpoint interval per game, so jumps go through restored
+// checkpoints as well as through undo/redo. After every step a fresh game replays
+// getMoves() from the start and must end up with the same board, Zobrist key, turn,
+// state, winner and winning strategy counters. Exits with status 1 on the first mismatch.
+//
+// Run: java benchmarks.HistoryReplayCheck [games per board type] [steps per game] [dimension]
+public class HistoryReplayCheck {
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int dimension = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+        players.add(new HumanPlayer("3", "C", 'Z'));
+
+        long operations = 0;
+        long rewinds = 0;
+        for (BoardType boardType : BoardType.values()) {
+            for (int seed = 0; seed < games; seed++) {
+                Random random = new Random(seed);
+                Game game = newGame(dimension, players, boardType, random.nextInt(5));
+                for (int step = 0; step < steps; step++) {
+                    int op = random.nextInt(10);
+                    if (op < 5) {
+                        int cell = random.nextInt(dimension * dimension);
+                        game.replayMove(cell / dimension, cell % dimension);
+                    } else if (op < 7) {
+                        game.undo(game);
+                    } else if (op < 8) {
+                        game.redo();
+                    } else {
+                        int lineLength = game.getMoves().size() + game.getRedoCount();
+                        game.rewindTo(random.nextInt(lineLength + 1));
+                        rewinds++;
+                    }
+                    operations++;
+
+                    String mismatch = compareWithReplay(game, dimension, players, boardType);
+                    if (mismatch != null) {
+                        System.out.println("FAILED: " + boardType + " seed " + seed + " step " + step
+                                + " (operation " + op + "): " + mismatch);
+                        System.exit(1);
+                    }
+                }
+            }
+        }
+        System.out.printf("OK: %,d operations (%,d rewinds) match a full replay%n", operations, rewinds);
+    }
+
+    private static Game newGame(int dimension, List<Player> players, BoardType boardType, int checkpointInterval) {
+        List<WinningStrategy> winningStrategies = new ArrayList<>();
+        winningStrategies.add(new RowWinningStrategy());
+        winningStrategies.add(new ColumnWinningStrategy());
+        winningStrategies.add(new LineWinningStrategy());
+        try {
+            return Game.getBuilder()
+                    .setDimension(dimension)
+                    .setPlayers(players)
+                    .setWinningStrategies(winningStrategies)
+                    .setBoardType(boardType)
+                    .setCheckpointInterval(checkpointInterval)
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // What differs between the game and a fresh game replaying its moves, or null.
+    private static String compareWithReplay(Game game, int dimension, List<Player> players, BoardType boardType) {
+        Game replay = newGame(dimension, players, boardType, 0);
+        for (Move move : game.getMoves()) {
+            if (!replay.replayMove(move.getCell().getRow(), move.getCell().getCol())) {
+                return "move " + move.getCell().getRow() + "," + move.getCell().getCol() + " does not replay";
+            }
+        }
+        for (int row = 0; row < dimension; row++) {
+            for (int col = 0; col < dimension; col++) {
+                if (game.getBoard().getPlayerAt(row, col) != replay.getBoard().getPlayerAt(row, col)) {
+                    return "cell " + row + "," + col;
+                }
+            }
+        }
+        if (game.getZobristKey() != replay.getZobristKey()) {
+            return "Zobrist key";
+        }
+        if (game.getNextPlayerIndex() != replay.getNextPlayerIndex()) {
+            return "next player";
+        }
+        if (game.getGameState() != replay.getGameState() || game.getWinner() != replay.getWinner()) {
+            return "state or winner";
+        }
+        for (int i = 0; i < game.getWinningStrategies().size(); i++) {
+            String state = counters(game.getWinningStrategies().get(i).saveState());
+            String expected = counters(replay.getWinningStrategies().get(i).saveState());
+            if (!state.equals(expected)) {
+                return "counters of winning strategy " + i + ": " + state + " instead of " + expected;
+            }
+        }
+        return null;
+    }
+
+    // Counters of a winning strategy as text. Counters not created yet (before the first
+    // move) and counters that are all back to 0 (after undoing every move) are the same.
+    private static String counters(Object state) {
+        if (state instanceof int[]) {
+            state = new int[][]{(int[]) state};
+        }
+        if (state == null) {
+            return "empty";
+        }
+        int[][] counts = (int[][]) state;
+        for (int[] row : counts) {
+            for (int count : row) {
+                if (count != 0) {
+                    return Arrays.deepToString(counts);
+                }
+            }
+        }
+        return "empty";
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import models.*;
+import strategies.MonteCarloBotPlayingStrategy;
+import strategies.WinningLines;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Playouts per second of the EXPERT bot's Monte Carlo tree search for 1, 2, 4, ... threads,
+// each run searching the empty board for a fixed time with a fresh tree. Scaling can only
+// show on a machine with at least as many cores as threads.
+//
+// Run: java benchmarks.MonteCarloBenchmark [dimension] [players] [millis] [maxThreads]
+public class MonteCarloBenchmark {
+    public static void main(String[] args) {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+        int maxThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new HumanPlayer(String.valueOf(i + 1), "P" + (i + 1), (char) ('A' + i)));
+        }
+        Board board = new Board(dimension, players);
+        board.setWinningLines(WinningLines.rowsAndColumns(dimension));
+
+        System.out.printf("Board %dx%d, %d players, %d ms per run, %d available processors%n",
+                dimension, dimension, playerCount, millis, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %12s %9s%n", "threads", "playouts/s", "tree nodes", "speedup");
+        new MonteCarloBotPlayingStrategy(millis, 0, 1).makeMove(board);   // warmup
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            MonteCarloBotPlayingStrategy strategy = new MonteCarloBotPlayingStrategy(millis, 0, threads);
+            long start = System.nanoTime();
+            strategy.makeMove(board);
+            double rate = strategy.getLastPlayouts() / ((System.nanoTime() - start) / 1e9);
+            if (threads == 1) {
+                baseline = rate;
+            }
+            System.out.printf("%8d %,14.0f %,12d %8.2fx%n", threads, rate, strategy.getLastTreeSize(), rate / baseline);
+        }
+    }
+}
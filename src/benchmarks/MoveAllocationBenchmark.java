@@ -0,0 +1,105 @@
+package benchmarks;
+
+import inputs.PlayerInput;
+import models.*;
+import strategies.EasyBotPlayingStrategy;
+import strategies.LineWinningStrategy;
+import strategies.MediumBotPlayingStrategy;
+import strategies.WinningStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Checks that the steady-state move path does not allocate: a scripted human, an EASY bot
+// and a MEDIUM bot play full games through Game.makeMove, and every game is undone back
+// to an empty board so the same Game keeps being reused. After warm-up, the bytes
+// allocated by this thread are read from com.sun.management.ThreadMXBean and divided by
+// the number of moves played. Exits with status 1 if a move allocates anything.
+//
+// Run: java benchmarks.MoveAllocationBenchmark [moves] [dimension]
+public class MoveAllocationBenchmark {
+    private static final int WARMUP_MOVES = 2_000_000;
+
+    // Human input that cycles through every cell of the board in row major order, so
+    // occupied cells are simply rejected and the next one is tried.
+    static class ScriptedInput implements PlayerInput {
+        private final int dimension;
+        private int cell;
+        private boolean colNext;
+
+        ScriptedInput(int dimension) {
+            this.dimension = dimension;
+        }
+
+        @Override
+        public void prompt(String message) {
+        }
+
+        @Override
+        public void promptMove(String playerName) {
+        }
+
+        @Override
+        public int nextInt() {
+            if (colNext) {
+                colNext = false;
+                int col = cell % dimension;
+                cell = (cell + 1) % (dimension * dimension);
+                return col;
+            }
+            colNext = true;
+            return cell / dimension;
+        }
+    }
+
+    public static void main(String[] args) {
+        long measuredMoves = args.length > 0 ? Long.parseLong(args[0]) : 5_000_000;
+        int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "Human", 'X', new ScriptedInput(dimension)));
+        players.add(new BotPlayer("2", "Easy", 'O', BotPlayingDifficulty.EASY, new EasyBotPlayingStrategy()));
+        players.add(new BotPlayer("3", "Medium", 'M', BotPlayingDifficulty.MEDIUM, new MediumBotPlayingStrategy(new Random(42))));
+        List<WinningStrategy> winningStrategies = new ArrayList<>();
+        winningStrategies.add(new LineWinningStrategy());
+        Game game = new Game(dimension, players, winningStrategies);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Nothing on the move path prints, so System.out is left alone: what is measured is
+        // exactly what a game played without a console costs.
+        play(game, WARMUP_MOVES);
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        play(game, measuredMoves);
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        double bytesPerMove = (double) bytes / measuredMoves;
+        System.out.printf("%,d moves on a %dx%d board: %,.1f ns/move, %,d bytes allocated, %.4f B/move%n",
+                measuredMoves, dimension, dimension, (double) nanos / measuredMoves, bytes, bytesPerMove);
+        // The allocated-bytes counter itself costs a few bytes per read, hence < 1 and not == 0.
+        if (bytesPerMove >= 1) {
+            System.out.println("FAILED: the move path allocates");
+            System.exit(1);
+        }
+        System.out.println("OK: no allocation per move");
+    }
+
+    // Plays the given number of moves, undoing each finished game back to an empty board.
+    private static void play(Game game, long moves) {
+        for (long played = 0; played < moves; played++) {
+            if (!game.getGameState().equals(GameState.IN_PROGRESS)) {
+                while (!game.getMoves().isEmpty()) {
+                    game.undo(game);
+                }
+            }
+            game.makeMove();
+        }
+    }
+}
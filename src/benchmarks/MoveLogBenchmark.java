@@ -0,0 +1,71 @@
+package benchmarks;
+
+import models.*;
+import persistence.MoveLog;
+import strategies.LineWinningStrategy;
+import strategies.WinningStrategy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Logs a batch of random games (with some undos) to a MoveLog, then recovers them and
+// checks every recovered game against the original through its Zobrist key.
+// Reports log size, write rate and recovery rate in games per second.
+//
+// Run: java benchmarks.MoveLogBenchmark [games] [dimension]
+public class MoveLogBenchmark {
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Path path = Files.createTempFile("moves", ".log");
+        Random random = new Random(42);
+        long[] expectedKeys = new long[games];
+
+        long start = System.nanoTime();
+        try (MoveLog log = new MoveLog(path, 5, true)) {
+            for (int id = 0; id < games; id++) {
+                Game game = newGame(dimension);
+                game.addListener(log.listenerFor(id));
+                while (game.getGameState().equals(GameState.IN_PROGRESS)) {
+                    if (!game.getMoves().isEmpty() && random.nextInt(10) == 0) {
+                        game.undo(game);
+                        continue;
+                    }
+                    int cell = random.nextInt(dimension * dimension);
+                    game.replayMove(cell / dimension, cell % dimension);
+                }
+                expectedKeys[id] = game.getZobristKey();
+            }
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Map<Integer, Game> recovered = MoveLog.recover(path, id -> newGame(dimension));
+        long recoverNanos = System.nanoTime() - start;
+
+        int mismatches = 0;
+        for (int id = 0; id < games; id++) {
+            if (recovered.get(id).getZobristKey() != expectedKeys[id]) {
+                mismatches++;
+            }
+        }
+        long bytes = Files.size(path);
+        System.out.printf("Logged %,d games, %,d records, %,d bytes%n", games, bytes / MoveLog.RECORD_SIZE, bytes);
+        System.out.printf("Write:    %,.0f games/sec%n", games * 1e9 / writeNanos);
+        System.out.printf("Recovery: %,.0f games/sec, %d mismatches%n", games * 1e9 / recoverNanos, mismatches);
+        Files.delete(path);
+    }
+
+    private static Game newGame(int dimension) {
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+        List<WinningStrategy> winningStrategies = new ArrayList<>();
+        winningStrategies.add(new LineWinningStrategy());
+        return new Game(dimension, players, winningStrategies);
+    }
+}
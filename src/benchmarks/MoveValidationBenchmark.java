@@ -0,0 +1,85 @@
+package benchmarks;
+
+import models.*;
+import strategies.ColumnWinningStrategy;
+import strategies.RowWinningStrategy;
+import strategies.WinningStrategy;
+import validations.moveValidations.MoveValidationResult;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Measures Game.checkMove, the check the server runs on every submitted move, on a half
+// filled board: one operation checks a cell drawn from an area a little larger than the
+// board, so valid moves, filled cells and cells outside the board are all refused or
+// accepted in the mix. Reports ns/op and B/op (should be 0: no allocation, no output).
+//
+// Run: java benchmarks.MoveValidationBenchmark [dimension]
+public class MoveValidationBenchmark {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final long OPS_PER_ITERATION = 10_000_000;
+
+    public static void main(String[] args) throws Exception {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        System.out.printf("%-10s %9s %12s %12s %12s%n", "board", "size", "ns/op(best)", "ns/op(mean)", "B/op");
+        for (BoardType boardType : BoardType.values()) {
+            run(boardType, dimension);
+        }
+    }
+
+    private static void run(BoardType boardType, int dimension) throws Exception {
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+        List<WinningStrategy> winningStrategies = new ArrayList<>();
+        winningStrategies.add(new RowWinningStrategy());
+        winningStrategies.add(new ColumnWinningStrategy());
+        Game game = Game.getBuilder()
+                .setDimension(dimension)
+                .setPlayers(players)
+                .setWinningStrategies(winningStrategies)
+                .setBoardType(boardType)
+                .build();
+        // Fill every other cell of each row (shifted every two rows), so nobody completes a line.
+        for (int r = 0; r < dimension; r++) {
+            for (int c = (r / 2) % 2; c < dimension; c += 2) {
+                if (!game.replayMove(r, c)) {
+                    break;
+                }
+            }
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int span = dimension + 2;
+
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        double bytesPerOp = 0;
+        long valid = 0;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASURED_ITERATIONS; iteration++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            int cell = 0;
+            for (long ops = 0; ops < OPS_PER_ITERATION; ops++) {
+                cell = cell + 7 < span * span ? cell + 7 : cell + 7 - span * span;
+                if (game.checkMove(cell / span - 1, cell % span - 1) == MoveValidationResult.VALID) {
+                    valid++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (iteration >= WARMUP_ITERATIONS) {
+                double nsPerOp = (double) elapsed / OPS_PER_ITERATION;
+                best = Math.min(best, nsPerOp);
+                total += nsPerOp;
+                bytesPerOp = Math.max(bytesPerOp, (double) allocated / OPS_PER_ITERATION);
+            }
+        }
+        System.out.printf("%-10s %9s %12.2f %12.2f %12.2f%s%n", boardType, dimension + "x" + dimension,
+                best, total / MEASURED_ITERATIONS, bytesPerOp, valid < 0 ? "!" : "");
+    }
+}
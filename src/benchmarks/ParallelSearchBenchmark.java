@@ -0,0 +1,53 @@
+package benchmarks;
+
+import models.*;
+import strategies.HardBotPlayingStrategy;
+import strategies.WinningLines;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Time-to-depth of the HARD bot's Lazy SMP search for 1, 2, 4, ... threads: each run
+// searches the empty board to a fixed depth with a fresh (cold) transposition table, and
+// the wall time is compared with the single threaded run. Speedup can only show on a
+// machine with at least as many cores as threads.
+//
+// Run: java benchmarks.ParallelSearchBenchmark [dimension] [depth] [maxThreads] [runs]
+public class ParallelSearchBenchmark {
+    public static void main(String[] args) {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+        Board board = new Board(dimension, players);
+        board.setWinningLines(WinningLines.rowsAndColumns(dimension));
+
+        System.out.printf("Board %dx%d, depth %d, %d available processors%n",
+                dimension, dimension, depth, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %15s %9s%n", "threads", "ms(best)", "nodes", "speedup");
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long bestNanos = Long.MAX_VALUE;
+            long nodes = 0;
+            for (int run = 0; run < runs; run++) {
+                // No time limit, only the depth limit, so every run does a complete search.
+                HardBotPlayingStrategy strategy = new HardBotPlayingStrategy(Long.MAX_VALUE / 1_000_000L, depth, 20, threads);
+                long start = System.nanoTime();
+                strategy.makeMove(board);
+                long nanos = System.nanoTime() - start;
+                if (nanos < bestNanos) {
+                    bestNanos = nanos;
+                    nodes = strategy.getLastNodesSearched();
+                }
+            }
+            if (threads == 1) {
+                baseline = bestNanos;
+            }
+            System.out.printf("%8d %12.1f %,15d %8.2fx%n", threads, bestNanos / 1e6, nodes, baseline / bestNanos);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import models.*;
+import views.BoardRenderer;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Time to draw one frame of a large, half filled board:
+// - per cell: the previous Board.display(), one System.out.print per cell plus one
+//   println per row (each a synchronized call that also encodes a String);
+// - full frame: BoardRenderer.render, the frame built in a byte buffer, one write;
+// - diff frame: BoardRenderer.renderDiff after a move, only the changed cell is redrawn.
+// Output goes to a buffered null stream, so this is the CPU cost of producing the frames;
+// a real terminal adds its own cost per byte and per write on top.
+//
+// Run: java benchmarks.RenderBenchmark [dimension] [frames]
+public class RenderBenchmark {
+    public static void main(String[] args) {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+        Board board = new Board(dimension, players);
+        Random random = new Random(1);
+        for (int filled = 0; filled < dimension * dimension / 2; ) {
+            int row = random.nextInt(dimension);
+            int col = random.nextInt(dimension);
+            if (board.isEmpty(row, col)) {
+                board.fillCell(row, col, players.get(filled++ % 2));
+            }
+        }
+
+        PrintStream console = System.out;
+        PrintStream sink = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 8192));
+        BoardRenderer renderer = new BoardRenderer(sink);
+        double perCell;
+        double fullFrame;
+        double diffFrame;
+        System.setOut(sink);
+        try {
+            perCell = measure(frames, () -> {
+                for (int i = 0; i < dimension; i++) {
+                    for (int j = 0; j < dimension; j++) {
+                        board.getCell(i, j).display();
+                    }
+                    System.out.println();
+                }
+            });
+            fullFrame = measure(frames, () -> renderer.render(board));
+            renderer.renderDiff(board);
+            diffFrame = measure(frames, () -> {
+                // One move (or its undo) between frames, as in a game.
+                int row = random.nextInt(dimension);
+                int col = random.nextInt(dimension);
+                if (board.isEmpty(row, col)) {
+                    board.fillCell(row, col, players.get(0));
+                } else {
+                    board.clearCell(row, col);
+                }
+                renderer.renderDiff(board);
+            });
+        } finally {
+            System.setOut(console);
+        }
+
+        System.out.printf("Board %dx%d, %d frames each%n", dimension, dimension, frames);
+        System.out.printf("%-12s %12s%n", "frame", "ms/frame");
+        System.out.printf("%-12s %12.3f%n", "per cell", perCell);
+        System.out.printf("%-12s %12.3f%n", "full frame", fullFrame);
+        System.out.printf("%-12s %12.3f%n", "diff frame", diffFrame);
+    }
+
+    private static double measure(int frames, Runnable frame) {
+        for (int i = 0; i < frames; i++) {   // warmup
+            frame.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / frames;
+    }
+}
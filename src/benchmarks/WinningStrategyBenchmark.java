@@ -0,0 +1,101 @@
+package benchmarks;
+
+import models.*;
+import strategies.ColumnWinningStrategy;
+import strategies.LineWinningStrategy;
+import strategies.RowWinningStrategy;
+import strategies.WinningStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Microbenchmark in the spirit of JMH (warmup iterations, then measured iterations, best
+// and mean reported) comparing the separate Row + Column strategies (one counter array
+// each) with the combined LineWinningStrategy. One operation = checkWinner for a move plus its handleUndo,
+// so every iteration fills the whole board and takes it back.
+//
+// Allocation is read from com.sun.management.ThreadMXBean#getThreadAllocatedBytes.
+//
+// Run: java benchmarks.WinningStrategyBenchmark
+public class WinningStrategyBenchmark {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final long OPS_PER_ITERATION = 2_000_000;
+
+    interface StrategySetup {
+        List<WinningStrategy> create();
+    }
+
+    public static void main(String[] args) {
+        int[] dimensions = {3, 10, 100};
+        System.out.printf("%-14s %9s %12s %12s %12s%n", "strategy", "board", "ns/op(best)", "ns/op(mean)", "B/op");
+        for (int dimension : dimensions) {
+            run("Row+Column", dimension, () -> {
+                List<WinningStrategy> strategies = new ArrayList<>();
+                strategies.add(new RowWinningStrategy());
+                strategies.add(new ColumnWinningStrategy());
+                return strategies;
+            });
+            run("Line", dimension, () -> {
+                List<WinningStrategy> strategies = new ArrayList<>();
+                strategies.add(new LineWinningStrategy());
+                return strategies;
+            });
+        }
+    }
+
+    private static void run(String name, int dimension, StrategySetup setup) {
+        List<Player> players = new ArrayList<>();
+        players.add(new HumanPlayer("1", "A", 'X'));
+        players.add(new HumanPlayer("2", "B", 'O'));
+        Board board = new Board(dimension, players);
+
+        // One move per cell, players alternating, in row major order.
+        Move[] moves = new Move[dimension * dimension];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = new Move(board.getCell(i / dimension, i % dimension), players.get(i % players.size()));
+        }
+        List<WinningStrategy> strategies = setup.create();
+        WinningStrategy[] array = strategies.toArray(new WinningStrategy[0]);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        double bytesPerOp = 0;
+        int sink = 0;
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASURED_ITERATIONS; iteration++) {
+            long ops = 0;
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            while (ops < OPS_PER_ITERATION) {
+                for (Move move : moves) {
+                    for (WinningStrategy strategy : array) {
+                        if (strategy.checkWinner(board, move)) {
+                            sink++;
+                        }
+                    }
+                }
+                for (int i = moves.length - 1; i >= 0; i--) {
+                    for (WinningStrategy strategy : array) {
+                        strategy.handleUndo(moves[i]);
+                    }
+                }
+                ops += moves.length;
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (iteration >= WARMUP_ITERATIONS) {
+                double nsPerOp = (double) elapsed / ops;
+                best = Math.min(best, nsPerOp);
+                total += nsPerOp;
+                bytesPerOp = Math.max(bytesPerOp, (double) allocated / ops);
+            }
+        }
+        System.out.printf("%-14s %9s %12.2f %12.2f %12.2f%s%n", name, dimension + "x" + dimension,
+                best, total / MEASURED_ITERATIONS, bytesPerOp, sink < 0 ? "!" : "");
+    }
+}
@@ -1,31 +1,66 @@
 package controllers;
 
+import metrics.GameMetrics;
+import models.BotPlayer;
 import models.Game;
+import models.GameListener;
 import models.GameState;
 import models.Move;
 import models.Player;
 import strategies.WinningStrategy;
+import validations.moveValidations.MoveValidationResult;
+import views.BoardRenderer;
 
 import java.util.List;
 
 // GameController is the main orchestrator of the game. It manages the initialization,
 // state checking, move handling, and other essential game functions.
 public class GameController {
+    // Tells the person at the console why a move was refused. Game itself has no I/O.
+    private static final GameListener CONSOLE_FEEDBACK = new GameListener() {
+        @Override
+        public void onMove(Game game, Move move) {
+        }
+
+        @Override
+        public void onUndo(Game game, Move move) {
+        }
+
+        @Override
+        public void onMoveRejected(Game game, Move move, MoveValidationResult result) {
+            System.out.println(result.getMessage());
+        }
+    };
 
     // Starts a new game by constructing a `Game` object with the specified dimension,
     // players, and winning strategies. Throws an exception if game creation fails.
     public Game startGame(int dimension, List<Player> players, List<WinningStrategy> winningStrategies) throws Exception {
-        return Game
+        Game game = Game
                 .getBuilder()
                 .setDimension(dimension)
                 .setPlayers(players)
                 .setWinningStrategies(winningStrategies)
                 .build();
+        game.addListener(CONSOLE_FEEDBACK);
+        return game;
+    }
+
+    // Ends the session of a game, finished or not (e.g. the players left mid-game). An
+    // unfinished game then no longer counts as active (see Game.close()).
+    public void endGame(Game game) {
+        game.close();
     }
 
     // Returns the current state of the game (e.g., in-progress, won, or draw).
     public GameState checkGameState(Game game) {
-        return game.getGameState();
+        GameMetrics metrics = GameMetrics.current();
+        if (metrics == null) {
+            return game.getGameState();
+        }
+        long start = System.nanoTime();
+        GameState gameState = game.getGameState();
+        metrics.recordCheckGameState(System.nanoTime() - start);
+        return gameState;
     }
 
     // Retrieves the winner of the game, if there is one.
@@ -39,17 +74,58 @@ public class GameController {
         game.displayBoard();
     }
 
+    // Redraws the board on a live terminal screen (see BoardRenderer.renderDiff): only the
+    // cells changed since the screen's last frame are drawn again, and the text below the
+    // board is cleared for the next prompts. The screen belongs to the caller, one per game.
+    public void redraw(Game game, BoardRenderer screen) {
+        screen.renderDiff(game.getBoard());
+    }
+
     // Prompts the current player to make a move. In a real application, this would
     // involve parsing an HTTP request to get the move details and then updating the game state.
     public void makeMove(Game game) {
+        // Bots do not print, so the console is told here who is thinking.
+        Player next = game.getPlayers().get(game.getNextPlayerIndex());
+        if (next instanceof BotPlayer) {
+            System.out.println(next.getName() + "'s move. Bot player move calculating.");
+        }
         // Simulate parsing an HTTP request to get the player's move.
+        GameMetrics metrics = GameMetrics.current();
+        if (metrics == null) {
+            game.makeMove();
+            return;
+        }
+        // With metrics on, time the move and file it under the player's difficulty.
+        long start = System.nanoTime();
         game.makeMove();
+        metrics.recordMove(next instanceof BotPlayer ? ((BotPlayer) next).getBotPlayingDifficulty() : null,
+                System.nanoTime() - start);
         // Simulate creating an HTTP response to confirm the move.
     }
 
     // Undo move functionality
     public void undo(Game game){
-        game.undo(game);
+        GameMetrics metrics = GameMetrics.current();
+        long start = metrics == null ? 0 : System.nanoTime();
+        boolean undone = game.undo(game);
+        if (metrics != null) {
+            metrics.recordUndo(System.nanoTime() - start);
+        }
+        if (!undone) {
+            System.out.println("No moves left to Undo");
+        }
+    }
+
+    // Plays the last undone move again.
+    public void redo(Game game){
+        if (!game.redo()) {
+            System.out.println("No moves left to Redo");
+        }
+    }
+
+    // Jumps to the position after the given number of moves (see Game.rewindTo).
+    public void rewindTo(Game game, int moveCount){
+        game.rewindTo(moveCount);
     }
 
     //
@@ -57,6 +133,11 @@ public class GameController {
         return game.getCurrentPlayer();
     }
 
+    // The player whose turn it is.
+    public Player getNextPlayer(Game game){
+        return game.getPlayers().get(game.getNextPlayerIndex());
+    }
+
     // Method to display moves history
     public void gameSummary(Game game){
         game.gameSummary(game);
@@ -0,0 +1,82 @@
+package events;
+
+import models.GameState;
+
+// Events of a GameEventBus, each packed into one long so publishing allocates nothing:
+//   bits 0-7    type (MOVE, UNDO, STATE, RESYNC)
+//   bits 8-15   player index + 1 (seat in Game.getPlayers(), 0 for none)
+//   bits 16-35  row
+//   bits 36-55  col
+//   bits 56-63  GameState ordinal (STATE events)
+// REWIND events use bits 16-55 for the number of moves on the board instead of the cell.
+//
+// MOVE and UNDO carry the cell and the player who played it. STATE carries the new state
+// and the winner (GAME_WON), or no player (DRAW, or IN_PROGRESS after an undo). REWIND
+// means Game.rewindTo jumped to another move count, and RESYNC (only seen by COALESCE
+// subscribers) that events were dropped; after either, read the current board.
+public final class GameEvent {
+    public static final int MOVE = 1;
+    public static final int UNDO = 2;
+    public static final int STATE = 3;
+    public static final int RESYNC = 4;
+    public static final int REWIND = 5;
+
+    private static final GameState[] STATES = GameState.values();
+
+    private GameEvent() {
+    }
+
+    public static long move(int row, int col, int playerIndex) {
+        return pack(MOVE, row, col, playerIndex, 0);
+    }
+
+    public static long undo(int row, int col, int playerIndex) {
+        return pack(UNDO, row, col, playerIndex, 0);
+    }
+
+    public static long state(GameState gameState, int winnerIndex) {
+        return pack(STATE, 0, 0, winnerIndex, gameState.ordinal());
+    }
+
+    public static long rewind(int moveCount) {
+        return REWIND | (long) moveCount << 16;
+    }
+
+    static long resync() {
+        return pack(RESYNC, 0, 0, -1, 0);
+    }
+
+    private static long pack(int type, int row, int col, int playerIndex, int state) {
+        return type
+                | (long) (playerIndex + 1 & 0xFF) << 8
+                | (long) (row & 0xFFFFF) << 16
+                | (long) (col & 0xFFFFF) << 36
+                | (long) state << 56;
+    }
+
+    public static int type(long event) {
+        return (int) event & 0xFF;
+    }
+
+    // Player of the event, -1 for none.
+    public static int playerIndex(long event) {
+        return ((int) (event >>> 8) & 0xFF) - 1;
+    }
+
+    public static int row(long event) {
+        return (int) (event >>> 16) & 0xFFFFF;
+    }
+
+    public static int col(long event) {
+        return (int) (event >>> 36) & 0xFFFFF;
+    }
+
+    // Moves on the board after a REWIND.
+    public static int moveCount(long event) {
+        return (int) (event >>> 16) & 0x7FFFFFFF;
+    }
+
+    public static GameState gameState(long event) {
+        return STATES[(int) (event >>> 56)];
+    }
+}
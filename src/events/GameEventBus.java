@@ -0,0 +1,93 @@
+package events;
+
+import models.Game;
+import models.GameListener;
+import models.GameState;
+import models.Move;
+import models.Player;
+
+// Publishes the changes of one game (moves, undos, rewinds, state changes) as compact
+// GameEvents to any number of subscribers, e.g. spectators showing the live board or an
+// analytics feed.
+//
+// Every subscriber has its own bounded GameEventStream, so a slow subscriber only loses
+// its own events (as its OverflowPolicy says) and never slows down the game or the other
+// subscribers. Publishing costs a few array writes per subscriber and allocates nothing;
+// with no subscribers it only counts the sequence number.
+//
+// The bus is a GameListener: events are published on the thread playing the game, which
+// must be one thread at a time (as it is for a GameSession).
+public class GameEventBus implements GameListener {
+    private static final GameEventStream[] NONE = new GameEventStream[0];
+
+    private volatile GameEventStream[] streams = NONE;
+    private long sequence;
+
+    // Creates a bus publishing the events of the given game. Attach it before the game is
+    // played, Game's listener list is not thread-safe.
+    public static GameEventBus attach(Game game) {
+        GameEventBus bus = new GameEventBus();
+        game.addListener(bus);
+        return bus;
+    }
+
+    // Adds a subscriber with a ring of (at least) capacity events. It gets the events
+    // published from now on; read the game's board (or Game.getSnapshot()) for what
+    // happened before.
+    public synchronized GameEventStream subscribe(int capacity, OverflowPolicy policy) {
+        GameEventStream stream = new GameEventStream(capacity, policy);
+        GameEventStream[] current = streams;
+        GameEventStream[] updated = new GameEventStream[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = stream;
+        streams = updated;
+        return stream;
+    }
+
+    public synchronized void unsubscribe(GameEventStream stream) {
+        GameEventStream[] current = streams;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == stream) {
+                GameEventStream[] updated = new GameEventStream[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                streams = updated;
+                return;
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return streams.length;
+    }
+
+    @Override
+    public void onMove(Game game, Move move) {
+        publish(GameEvent.move(move.getCell().getRow(), move.getCell().getCol(),
+                move.getPlayerIndex()));
+    }
+
+    @Override
+    public void onUndo(Game game, Move move) {
+        publish(GameEvent.undo(move.getCell().getRow(), move.getCell().getCol(),
+                move.getPlayerIndex()));
+    }
+
+    @Override
+    public void onStateChange(Game game, GameState gameState, Player winner) {
+        publish(GameEvent.state(gameState, winner == null ? -1 : game.getPlayerRegistry().indexOf(winner)));
+    }
+
+    @Override
+    public void onRewind(Game game, int previousMoveCount) {
+        publish(GameEvent.rewind(game.getMoves().size()));
+    }
+
+    private void publish(long event) {
+        long eventSequence = ++sequence;
+        GameEventStream[] current = streams;
+        for (int i = 0; i < current.length; i++) {
+            current[i].offer(eventSequence, event);
+        }
+    }
+}
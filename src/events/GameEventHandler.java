@@ -0,0 +1,7 @@
+package events;
+
+// Receives the events polled from a GameEventStream. sequence numbers the events of a
+// game from 1, so a gap shows dropped events. Decode event with the GameEvent methods.
+public interface GameEventHandler {
+    void onEvent(long sequence, long event);
+}
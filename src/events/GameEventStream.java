@@ -0,0 +1,103 @@
+package events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// One subscriber's view of a GameEventBus: a bounded ring with a single producer (the
+// thread playing the game) and a single consumer (the subscriber's thread).
+//
+// The producer and consumer each own one counter and only publish it with lazySet, so an
+// event costs two array writes and an ordered store, without locks or allocation. The
+// producer only reads the consumer's counter again when its cached copy says the ring is
+// full. When it really is full, the OverflowPolicy decides what is lost; the producer never
+// waits.
+public class GameEventStream {
+    private final long[] slots;     // [2 * i] sequence, [2 * i + 1] event
+    private final int mask;
+    private final OverflowPolicy policy;
+    private final AtomicLong head = new AtomicLong();     // next slot to read, set by the consumer
+    private final AtomicLong tail = new AtomicLong();     // next slot to write, set by the producer
+    private final AtomicLong dropped = new AtomicLong();
+    private long cachedHead;        // producer's last read of head
+
+    // COALESCE only: set by the producer on overflow, cleared by the consumer once it has
+    // delivered the RESYNC. Everything published in between is dropped.
+    private volatile boolean overflowed;
+    private volatile long resyncSequence;
+
+    GameEventStream(int capacity, OverflowPolicy policy) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity should be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new long[2 * size];
+        this.mask = size - 1;
+        this.policy = policy;
+    }
+
+    // Producer side, called by GameEventBus on the game's thread.
+    void offer(long sequence, long event) {
+        long t = tail.get();
+        if (overflowed) {
+            resyncSequence = sequence;
+            dropped.lazySet(dropped.get() + 1);
+            return;
+        }
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                if (policy == OverflowPolicy.COALESCE) {
+                    resyncSequence = sequence;
+                    overflowed = true;
+                }
+                dropped.lazySet(dropped.get() + 1);
+                return;
+            }
+        }
+        int slot = (int) t & mask;
+        slots[2 * slot] = sequence;
+        slots[2 * slot + 1] = event;
+        tail.lazySet(t + 1);
+    }
+
+    // Consumer side: hands up to maxEvents events to the handler, oldest first, and returns
+    // how many it handed over (0 if there are none). Must always be called from the same
+    // thread, or with a happens-before between calls.
+    //
+    // After an overflow of a COALESCE stream the handler gets the events from before it,
+    // then one RESYNC carrying the sequence of the last dropped event. The board read after
+    // that can already contain moves of later events; applying them again is harmless.
+    public int poll(GameEventHandler handler, int maxEvents) {
+        long h = head.get();
+        int count = (int) Math.min(tail.get() - h, maxEvents);
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (h + i) & mask;
+            handler.onEvent(slots[2 * slot], slots[2 * slot + 1]);
+        }
+        head.lazySet(h + count);
+        if (count < maxEvents && overflowed && tail.get() == h + count) {
+            long sequence = resyncSequence;
+            overflowed = false;
+            handler.onEvent(sequence, GameEvent.resync());
+            count++;
+        }
+        return count;
+    }
+
+    // Events published but not yet polled.
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    // Events this subscriber lost because it was behind.
+    public long getDropped() {
+        return dropped.get();
+    }
+}
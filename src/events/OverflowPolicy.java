@@ -0,0 +1,12 @@
+package events;
+
+// What a subscriber's stream does when the subscriber falls behind and its ring is full.
+// The game thread never waits for a subscriber either way.
+// DROP -> new events are dropped and counted; the subscriber sees a gap in the sequence
+// numbers (e.g. analytics that can live with sampled data).
+// COALESCE -> everything from the overflow until the subscriber catches up is collapsed
+// into a single RESYNC event, after which it redraws from the game's current board
+// (e.g. spectators, who only care about the latest position).
+public enum OverflowPolicy {
+    DROP, COALESCE
+}
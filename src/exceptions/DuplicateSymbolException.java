@@ -0,0 +1,7 @@
+package exceptions;
+
+public class DuplicateSymbolException extends Exception{
+    public DuplicateSymbolException(String message){
+        super(message);
+    }
+}
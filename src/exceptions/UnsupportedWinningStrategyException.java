@@ -0,0 +1,7 @@
+package exceptions;
+
+public class UnsupportedWinningStrategyException extends Exception{
+    public UnsupportedWinningStrategyException(String message){
+        super(message);
+    }
+}
@@ -3,9 +3,27 @@
 import models.BotPlayingDifficulty;
 import strategies.BotPlayingStrategy;
 import strategies.EasyBotPlayingStrategy;
+import strategies.EvaluationCache;
+import strategies.HardBotPlayingStrategy;
 import strategies.MediumBotPlayingStrategy;
+import strategies.MonteCarloBotPlayingStrategy;
+import strategies.Tablebase;
+import strategies.TablebaseBotPlayingStrategy;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
     public class BotPlayingStrategyFactory {
+    // Strategies handed out by getSharedBotPlayingStrategy, one per difficulty, board size and
+    // search settings. Every strategy keeps the state of a move in a small pool of its own,
+    // so one instance serves all bots of its kind in all games, and the heavy parts
+    // (transposition table, node pools) exist once per kind (the node pools once per move in
+    // progress) instead of once per bot.
+    private static final ConcurrentHashMap<StrategyKey, BotPlayingStrategy> SHARED = new ConcurrentHashMap<>();
+    // Defaults of the search settings, used for any of them given as 0.
+    private static final int DEFAULT_SEARCH_THREADS = 1;
+    private static final long DEFAULT_MOVE_TIME_MILLIS = 1000;
+
     public static BotPlayingStrategy getBotPlayingStrategy(BotPlayingDifficulty difficulty){
         if(difficulty.equals(BotPlayingDifficulty.EASY)){
             return new EasyBotPlayingStrategy();
@@ -13,10 +31,122 @@ import strategies.MediumBotPlayingStrategy;
         else if(difficulty.equals(BotPlayingDifficulty.MEDIUM)){
             return new MediumBotPlayingStrategy();
         }
-//        else if(difficulty.equals(BotPlayingDifficulty.HARD)){
-//            return new HardBotPlayingStrategy();
-//        }
+        else if(difficulty.equals(BotPlayingDifficulty.HARD)){
+            return sharingHardStrategy(new HardBotPlayingStrategy());
+        }
+        else if(difficulty.equals(BotPlayingDifficulty.EXPERT)){
+            return new MonteCarloBotPlayingStrategy();
+        }
 
         return null;
     }
+
+    // Same as above, with the search threads and the time per move of a HARD or EXPERT bot
+    // (EASY and MEDIUM do not search, they ignore both). Either may be 0 for its default.
+    public static BotPlayingStrategy getBotPlayingStrategy(BotPlayingDifficulty difficulty, int searchThreads,
+                                                           long moveTimeMillis){
+        return getBotPlayingStrategy(difficulty, searchThreads, moveTimeMillis, 0);
+    }
+
+    // Same as above, an EXPERT bot also stops after the given number of playouts per move
+    // (0 for no limit). With a playout budget the time may be 0 for no time limit.
+    public static BotPlayingStrategy getBotPlayingStrategy(BotPlayingDifficulty difficulty, int searchThreads,
+                                                           long moveTimeMillis, int playouts){
+        checkSearchSettings(searchThreads, moveTimeMillis);
+        if(playouts < 0){
+            throw new IllegalArgumentException("Playouts per move should not be negative");
+        }
+        // Each setting left at 0 gets its own default, whatever the others are.
+        if(searchThreads == 0){
+            searchThreads = DEFAULT_SEARCH_THREADS;
+        }
+        if(moveTimeMillis == 0 && !(difficulty.equals(BotPlayingDifficulty.EXPERT) && playouts > 0)){
+            moveTimeMillis = DEFAULT_MOVE_TIME_MILLIS;
+        }
+        if(difficulty.equals(BotPlayingDifficulty.HARD)){
+            return sharingHardStrategy(new HardBotPlayingStrategy(moveTimeMillis, 64, 18, searchThreads));
+        }
+        else if(difficulty.equals(BotPlayingDifficulty.EXPERT)){
+            return new MonteCarloBotPlayingStrategy(moveTimeMillis, playouts, searchThreads);
+        }
+        return getBotPlayingStrategy(difficulty);
+    }
+
+    // Same as the first one, but a HARD bot answers from the tablebase where it covers the
+    // board, and only searches where it does not.
+    public static BotPlayingStrategy getBotPlayingStrategy(BotPlayingDifficulty difficulty, Tablebase tablebase){
+        if(difficulty.equals(BotPlayingDifficulty.HARD)){
+            return new TablebaseBotPlayingStrategy(tablebase, sharingHardStrategy(new HardBotPlayingStrategy()));
+        }
+        return getBotPlayingStrategy(difficulty);
+    }
+
+    // Returns the strategy shared by all bots of the difficulty playing on boards of the
+    // given dimension, created on the first request.
+    public static BotPlayingStrategy getSharedBotPlayingStrategy(BotPlayingDifficulty difficulty, int dimension){
+        return getSharedBotPlayingStrategy(difficulty, dimension, 0, 0);
+    }
+
+    // Same as above, for HARD and EXPERT bots with the given search threads and time per move
+    // (each one 0 -> its default, so e.g. only the threads can be given).
+    public static BotPlayingStrategy getSharedBotPlayingStrategy(BotPlayingDifficulty difficulty, int dimension,
+                                                                 int searchThreads, long moveTimeMillis){
+        checkSearchSettings(searchThreads, moveTimeMillis);
+        // EASY and MEDIUM keep nothing per board or search, one instance serves every size.
+        boolean searching = difficulty.equals(BotPlayingDifficulty.HARD) || difficulty.equals(BotPlayingDifficulty.EXPERT);
+        // Defaults filled in first, so settings given as 0 or spelled out share one instance.
+        StrategyKey key = searching
+                ? new StrategyKey(difficulty, dimension,
+                        searchThreads == 0 ? DEFAULT_SEARCH_THREADS : searchThreads,
+                        moveTimeMillis == 0 ? DEFAULT_MOVE_TIME_MILLIS : moveTimeMillis)
+                : new StrategyKey(difficulty, 0, 0, 0);
+        return SHARED.computeIfAbsent(key, k -> searching
+                ? getBotPlayingStrategy(k.difficulty, k.searchThreads, k.moveTimeMillis)
+                : getBotPlayingStrategy(k.difficulty));
+    }
+
+    // Search threads and time per move may be 0 (default) but not negative.
+    public static void checkSearchSettings(int searchThreads, long moveTimeMillis){
+        if(searchThreads < 0){
+            throw new IllegalArgumentException("Search threads should not be negative");
+        }
+        if(moveTimeMillis < 0){
+            throw new IllegalArgumentException("Time per move should not be negative");
+        }
+    }
+
+    private static final class StrategyKey {
+        private final BotPlayingDifficulty difficulty;
+        private final int dimension;
+        private final int searchThreads;
+        private final long moveTimeMillis;
+
+        StrategyKey(BotPlayingDifficulty difficulty, int dimension, int searchThreads, long moveTimeMillis) {
+            this.difficulty = difficulty;
+            this.dimension = dimension;
+            this.searchThreads = searchThreads;
+            this.moveTimeMillis = moveTimeMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof StrategyKey)) {
+                return false;
+            }
+            StrategyKey other = (StrategyKey) o;
+            return difficulty == other.difficulty && dimension == other.dimension
+                    && searchThreads == other.searchThreads && moveTimeMillis == other.moveTimeMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(difficulty, dimension, searchThreads, moveTimeMillis);
+        }
+    }
+
+    // HARD bots made by the factory share their results through the process-wide cache.
+    private static HardBotPlayingStrategy sharingHardStrategy(HardBotPlayingStrategy strategy){
+        strategy.setEvaluationCache(EvaluationCache.getShared());
+        return strategy;
+    }
 }
@@ -0,0 +1,106 @@
+package inputs;
+
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Console input read on a background thread: numbers typed by the players are parsed as
+// they arrive and queued, so the game thread never waits on the terminal itself. It can
+// take a number that already arrived without waiting (poll), check how many are waiting
+// (available), or sleep until enough have been typed (awaitInput) and only then let a
+// player read them. Words that are not numbers are skipped.
+//
+// Like ConsolePlayerInput it is shared by all console players; use one or the other, two
+// readers on System.in would each take part of the input.
+public class AsyncConsoleInput implements PlayerInput {
+    private static AsyncConsoleInput instance;
+
+    private final Queue<Integer> numbers = new ConcurrentLinkedQueue<>();
+    // Notified by the reader thread whenever a number arrives or the input ends.
+    private final Object arrivals = new Object();
+    private volatile boolean closed;    // System.in reached its end
+
+    private AsyncConsoleInput() {
+        Thread reader = new Thread(this::read, "console-input");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public static synchronized AsyncConsoleInput getInstance() {
+        if (instance == null) {
+            instance = new AsyncConsoleInput();
+        }
+        return instance;
+    }
+
+    private void read() {
+        Scanner sc = new Scanner(System.in);
+        while (sc.hasNext()) {
+            if (sc.hasNextInt()) {
+                numbers.add(sc.nextInt());
+                synchronized (arrivals) {
+                    arrivals.notifyAll();
+                }
+            } else {
+                sc.next();
+            }
+        }
+        closed = true;
+        synchronized (arrivals) {
+            arrivals.notifyAll();
+        }
+    }
+
+    @Override
+    public void prompt(String message) {
+        System.out.println(message);
+    }
+
+    // True if a number is waiting, so nextInt() would return right away.
+    public boolean hasNextInt() {
+        return !numbers.isEmpty();
+    }
+
+    // Numbers typed and not read yet.
+    public int available() {
+        return numbers.size();
+    }
+
+    // True once System.in has ended; no more numbers will arrive after the waiting ones.
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // The next number typed, or null if none has arrived yet. Never waits.
+    public Integer poll() {
+        return numbers.poll();
+    }
+
+    // Sleeps until at least count numbers are waiting (woken by the reader thread, no
+    // polling). Returns false if the input ended before that many were typed.
+    public boolean awaitInput(int count) {
+        synchronized (arrivals) {
+            while (numbers.size() < count) {
+                if (closed) {
+                    return numbers.size() >= count;
+                }
+                try {
+                    arrivals.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for input", e);
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public int nextInt() {
+        if (!awaitInput(1)) {
+            throw new NoSuchElementException("No more console input");
+        }
+        return numbers.poll();
+    }
+}
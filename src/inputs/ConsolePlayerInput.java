@@ -0,0 +1,32 @@
+package inputs;
+
+import java.util.Scanner;
+
+// Reads input from the console. All console players share one Scanner, since several
+// Scanners on System.in would each buffer part of the input.
+public class ConsolePlayerInput implements PlayerInput {
+    private static ConsolePlayerInput instance;
+
+    private final Scanner sc;
+
+    private ConsolePlayerInput() {
+        this.sc = new Scanner(System.in);
+    }
+
+    public static synchronized ConsolePlayerInput getInstance() {
+        if (instance == null) {
+            instance = new ConsolePlayerInput();
+        }
+        return instance;
+    }
+
+    @Override
+    public void prompt(String message) {
+        System.out.println(message);
+    }
+
+    @Override
+    public synchronized int nextInt() {
+        return sc.nextInt();
+    }
+}
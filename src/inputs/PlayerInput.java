@@ -0,0 +1,18 @@
+package inputs;
+
+// Source of a human player's input. HumanPlayer asks for numbers (row, then column)
+// through this interface instead of reading System.in itself, so the same player works
+// on the console and behind a server.
+public interface PlayerInput {
+    // Shows a message to the player (ignored by inputs that have nobody to show it to).
+    public void prompt(String message);
+
+    // Tells the player it is their turn. Inputs with nobody to show it to override this
+    // with a no-op, so the message is not even built.
+    default void promptMove(String playerName) {
+        prompt(playerName + "'s move. Please make your move.");
+    }
+
+    // Returns the next number entered by the player, blocking until there is one.
+    public int nextInt();
+}
@@ -0,0 +1,36 @@
+package inputs;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Input fed programmatically: the game server's session offers the move of every command
+// it accepts for the player (see GameServer.newHumanPlayer), then lets the player play.
+// nextInt() blocks until a number has been offered.
+public class QueuedPlayerInput implements PlayerInput {
+    private final BlockingQueue<Integer> numbers = new LinkedBlockingQueue<>();
+
+    // Queues a move, to be read as row and then column.
+    public void offerMove(int row, int col) {
+        numbers.add(row);
+        numbers.add(col);
+    }
+
+    @Override
+    public void prompt(String message) {
+        // Nobody is watching a console, nothing to show.
+    }
+
+    @Override
+    public void promptMove(String playerName) {
+    }
+
+    @Override
+    public int nextInt() {
+        try {
+            return numbers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for input", e);
+        }
+    }
+}
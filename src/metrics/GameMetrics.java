@@ -0,0 +1,153 @@
+package metrics;
+
+import models.BotPlayingDifficulty;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide game metrics: latency histograms of the GameController operations and of
+// the bot strategies, plus counters of games, moves, undos and rejected moves.
+//
+// Metrics are off by default. The instrumented code reads GameMetrics.current() and does
+// nothing when it is null, so disabled metrics cost one field read per call, not even a
+// System.nanoTime(). Turn them on with GameMetrics.enable() (e.g. at startup, together
+// with PrometheusExporter.start(port)).
+public class GameMetrics {
+    private static volatile GameMetrics current;
+
+    // Index of the histograms of human players, after the bot difficulties.
+    static final int HUMAN = BotPlayingDifficulty.values().length;
+
+    private final long startNanos = System.nanoTime();
+    // [difficulty ordinal, or HUMAN] -> latency of GameController.makeMove for that player
+    private final LatencyHistogram[] moveLatency = new LatencyHistogram[HUMAN + 1];
+    // [difficulty ordinal] -> latency of BotPlayingStrategy.makeMove
+    private final LatencyHistogram[] botLatency = new LatencyHistogram[HUMAN];
+    private final LatencyHistogram undoLatency = new LatencyHistogram();
+    private final LatencyHistogram checkGameStateLatency = new LatencyHistogram();
+
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder activeGames = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder undos = new LongAdder();
+    private final LongAdder invalidMoves = new LongAdder();
+
+    private GameMetrics() {
+        for (int i = 0; i < moveLatency.length; i++) {
+            moveLatency[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < botLatency.length; i++) {
+            botLatency[i] = new LatencyHistogram();
+        }
+    }
+
+    // The active metrics, or null when metrics are disabled.
+    public static GameMetrics current() {
+        return current;
+    }
+
+    // Turns metrics on (keeping the existing ones if they are on already).
+    public static synchronized GameMetrics enable() {
+        if (current == null) {
+            current = new GameMetrics();
+        }
+        return current;
+    }
+
+    public static synchronized void disable() {
+        current = null;
+    }
+
+    // Recording, called by the instrumented code. difficulty is null for human players.
+    public void recordMove(BotPlayingDifficulty difficulty, long nanos) {
+        moveLatency[difficulty == null ? HUMAN : difficulty.ordinal()].record(nanos);
+    }
+
+    public void recordBotMove(BotPlayingDifficulty difficulty, long nanos) {
+        botLatency[difficulty.ordinal()].record(nanos);
+    }
+
+    public void recordUndo(long nanos) {
+        undoLatency.record(nanos);
+    }
+
+    public void recordCheckGameState(long nanos) {
+        checkGameStateLatency.record(nanos);
+    }
+
+    public void gameStarted() {
+        gamesStarted.increment();
+    }
+
+    // A game became active (started, or a finished game went back in progress after an
+    // undo) and stopped being active (finished or closed). See Game.close().
+    public void gameOpened() {
+        activeGames.increment();
+    }
+
+    public void gameClosed() {
+        activeGames.decrement();
+    }
+
+    public void movePlayed() {
+        moves.increment();
+    }
+
+    public void moveUndone() {
+        undos.increment();
+    }
+
+    public void invalidMove() {
+        invalidMoves.increment();
+    }
+
+    // Reading, used by the exporter.
+    public LatencyHistogram getMoveLatency(BotPlayingDifficulty difficulty) {
+        return moveLatency[difficulty == null ? HUMAN : difficulty.ordinal()];
+    }
+
+    public LatencyHistogram getBotLatency(BotPlayingDifficulty difficulty) {
+        return botLatency[difficulty.ordinal()];
+    }
+
+    public LatencyHistogram getUndoLatency() {
+        return undoLatency;
+    }
+
+    public LatencyHistogram getCheckGameStateLatency() {
+        return checkGameStateLatency;
+    }
+
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    // Games in progress and not closed. Counted explicitly rather than as started minus
+    // finished, which grew with every game abandoned before its end.
+    public long getActiveGames() {
+        return activeGames.sum();
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getUndos() {
+        return undos.sum();
+    }
+
+    public long getInvalidMoves() {
+        return invalidMoves.sum();
+    }
+
+    // Average since metrics were enabled; a scraper gets the current rate from getMoves().
+    public double getMovesPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : moves.sum() / seconds;
+    }
+
+    // Undos per move played.
+    public double getUndoRate() {
+        long played = moves.sum();
+        return played == 0 ? 0 : (double) undos.sum() / played;
+    }
+}
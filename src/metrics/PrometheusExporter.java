@@ -0,0 +1,103 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import models.BotPlayingDifficulty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// Writes GameMetrics in the Prometheus text exposition format (version 0.0.4) and serves
+// it over HTTP for a local scraper. Latencies are exported as summaries in seconds, with
+// the quantiles read from the HDR-style histograms.
+public class PrometheusExporter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    // Serves the current metrics at http://localhost:<port>/metrics until stopped with
+    // HttpServer.stop(). Metrics are enabled if they were not.
+    public static HttpServer start(int port) throws IOException {
+        GameMetrics.enable();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = format(GameMetrics.current()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    // The metrics as Prometheus text, empty when metrics are disabled.
+    public static String format(GameMetrics metrics) {
+        StringBuilder out = new StringBuilder();
+        if (metrics == null) {
+            return out.toString();
+        }
+
+        header(out, "tictactoe_move_seconds", "summary", "Latency of GameController.makeMove, by player.");
+        for (BotPlayingDifficulty difficulty : BotPlayingDifficulty.values()) {
+            summary(out, "tictactoe_move_seconds", "player", label(difficulty), metrics.getMoveLatency(difficulty));
+        }
+        summary(out, "tictactoe_move_seconds", "player", "human", metrics.getMoveLatency(null));
+
+        header(out, "tictactoe_bot_strategy_seconds", "summary", "Latency of BotPlayingStrategy.makeMove, by difficulty.");
+        for (BotPlayingDifficulty difficulty : BotPlayingDifficulty.values()) {
+            summary(out, "tictactoe_bot_strategy_seconds", "difficulty", label(difficulty), metrics.getBotLatency(difficulty));
+        }
+
+        header(out, "tictactoe_undo_seconds", "summary", "Latency of GameController.undo.");
+        summary(out, "tictactoe_undo_seconds", null, null, metrics.getUndoLatency());
+        header(out, "tictactoe_check_game_state_seconds", "summary", "Latency of GameController.checkGameState.");
+        summary(out, "tictactoe_check_game_state_seconds", null, null, metrics.getCheckGameStateLatency());
+
+        counter(out, "tictactoe_games_started_total", "Games created.", metrics.getGamesStarted());
+        gauge(out, "tictactoe_games_active", "Games in progress and not closed.", metrics.getActiveGames());
+        counter(out, "tictactoe_moves_total", "Moves played.", metrics.getMoves());
+        counter(out, "tictactoe_undos_total", "Moves undone.", metrics.getUndos());
+        counter(out, "tictactoe_invalid_moves_total", "Moves rejected by validateMove and retried.", metrics.getInvalidMoves());
+        gauge(out, "tictactoe_moves_per_second", "Moves per second since metrics were enabled.", metrics.getMovesPerSecond());
+        gauge(out, "tictactoe_undo_rate", "Undos per move played.", metrics.getUndoRate());
+        return out.toString();
+    }
+
+    private static String label(BotPlayingDifficulty difficulty) {
+        return difficulty.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, String labelName, String labelValue,
+                                LatencyHistogram histogram) {
+        String labels = labelName == null ? "" : labelName + "=\"" + labelValue + "\"";
+        for (double quantile : QUANTILES) {
+            out.append(name).append('{').append(labels).append(labels.isEmpty() ? "" : ",")
+                    .append("quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(histogram.getPercentileNanos(quantile))).append('\n');
+        }
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(suffix).append(' ').append(seconds(histogram.getSumNanos())).append('\n');
+        out.append(name).append("_count").append(suffix).append(' ').append(histogram.getCount()).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, "counter", help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, "gauge", help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+}
@@ -0,0 +1,212 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// BitBoard is a memory-compact Board. Instead of one Cell object per square it keeps
+// one bitset per player (long[] with one word per 64 cells) plus a bitset of empty cells.
+// Cell index = row * dimension + col, stored at bit (index % 64) of word (index / 64).
+//
+// Cell objects are only created on demand (getCell/getGrid) for display and Move, so they
+// are detached copies: changing them does not change the board. Use fillCell/clearCell.
+public class BitBoard extends Board {
+    private final int size;               // dimension, kept in a final field for the hot paths
+    private final int words;
+    private final long[][] playerMasks;   // [playerIndex][word] -> cells occupied by that player
+    private final long[] emptyMask;       // [word] -> cells that are still empty
+
+    public BitBoard(int dimension, List<Player> players) {
+        super(dimension, players, false);
+        int cellCount = dimension * dimension;
+        this.size = dimension;
+        this.words = (cellCount + 63) >>> 6;
+        this.playerMasks = new long[players.size()][words];
+        this.emptyMask = new long[words];
+
+        // Mark every cell as empty, leaving the unused bits of the last word cleared.
+        for (int i = 0; i < cellCount; i++) {
+            emptyMask[i >>> 6] |= 1L << i;
+        }
+    }
+
+    // Builds the List<List<Cell>> view of the board. Every call creates new cells, so
+    // hot paths should use isEmpty/getPlayerAt instead.
+    @Override
+    public List<List<Cell>> getGrid() {
+        int dimension = getDimension();
+        List<List<Cell>> grid = new ArrayList<>(dimension);
+        for (int i = 0; i < dimension; i++) {
+            List<Cell> row = new ArrayList<>(dimension);
+            for (int j = 0; j < dimension; j++) {
+                row.add(getCell(i, j));
+            }
+            grid.add(row);
+        }
+        return grid;
+    }
+
+    // Loads the occupancy masks from a grid of cells.
+    @Override
+    public void setGrid(List<List<Cell>> grid) {
+        for (List<Cell> row : grid) {
+            for (Cell cell : row) {
+                int index = indexOf(cell.getRow(), cell.getCol());
+                Player previous = getPlayerAt(cell.getRow(), cell.getCol());
+                if (previous != null) {
+                    toggleZobristKey(cell.getRow(), cell.getCol(), previous);
+                } else if (isBlocked(cell.getRow(), cell.getCol())) {
+                    toggleBlockedKey(cell.getRow(), cell.getCol());
+                }
+                clearBits(index);
+                if (cell.getCellState() == CellState.EMPTY) {
+                    emptyMask[index >>> 6] |= 1L << index;
+                    cellCleared(cell.getRow(), cell.getCol());
+                    continue;
+                } else if (cell.getCellState() == CellState.FILLED) {
+                    playerMasks[playerIndexOf(cell.getPlayer())][index >>> 6] |= 1L << index;
+                    toggleZobristKey(cell.getRow(), cell.getCol(), cell.getPlayer());
+                } else {
+                    // BLOCKED cells are neither empty nor owned by a player.
+                    toggleBlockedKey(cell.getRow(), cell.getCol());
+                }
+                cellFilled(cell.getRow(), cell.getCol());
+            }
+        }
+    }
+
+    @Override
+    public Cell getCell(int row, int col) {
+        Cell cell = new Cell(row, col);
+        int index = indexOf(row, col);
+        if ((emptyMask[index >>> 6] & (1L << index)) != 0) {
+            return cell;
+        }
+        int playerIndex = playerIndexAt(index);
+        if (playerIndex < 0) {
+            cell.setCellState(CellState.BLOCKED);
+        } else {
+            cell.setCellState(CellState.FILLED);
+            cell.setPlayer(getPlayers().get(playerIndex));
+        }
+        return cell;
+    }
+
+    // Not cached: the cells of a BitBoard are created on demand, so are its moves.
+    @Override
+    public Move getMove(int row, int col, Player player) {
+        return new Move(getCell(row, col), player, getPlayerRegistry().indexOf(player));
+    }
+
+    @Override
+    public boolean isEmpty(int row, int col) {
+        int index = indexOf(row, col);
+        return (emptyMask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Not empty and owned by nobody.
+    @Override
+    public boolean isBlocked(int row, int col) {
+        return !isEmpty(row, col) && playerIndexAt(indexOf(row, col)) < 0;
+    }
+
+    @Override
+    public Player getPlayerAt(int row, int col) {
+        int playerIndex = playerIndexAt(indexOf(row, col));
+        return playerIndex < 0 ? null : getPlayers().get(playerIndex);
+    }
+
+    @Override
+    public void fillCell(int row, int col, Player player) {
+        int index = indexOf(row, col);
+        long bit = 1L << index;
+        // Usual case is an empty cell, so only the empty bit has to go. Overwriting an
+        // occupied or blocked cell clears every mask first.
+        if ((emptyMask[index >>> 6] & bit) != 0) {
+            emptyMask[index >>> 6] &= ~bit;
+        } else {
+            Player previous = getPlayerAt(row, col);
+            if (previous != null) {
+                toggleZobristKey(row, col, previous);
+            } else {
+                toggleBlockedKey(row, col);
+            }
+            clearBits(index);
+        }
+        playerMasks[playerIndexOf(player)][index >>> 6] |= bit;
+        toggleZobristKey(row, col, player);
+        cellFilled(row, col);
+    }
+
+    @Override
+    public void clearCell(int row, int col) {
+        int index = indexOf(row, col);
+        long bit = 1L << index;
+        if ((emptyMask[index >>> 6] & bit) != 0) {
+            return;
+        }
+        int playerIndex = playerIndexAt(index);
+        if (playerIndex < 0) {
+            clearBits(index);
+            toggleBlockedKey(row, col);
+        } else {
+            playerMasks[playerIndex][index >>> 6] &= ~bit;
+            toggleZobristKey(row, col, getPlayers().get(playerIndex));
+        }
+        emptyMask[index >>> 6] |= bit;
+        cellCleared(row, col);
+    }
+
+    @Override
+    public void blockCell(int row, int col) {
+        if (isBlocked(row, col)) {
+            return;
+        }
+        Player previous = getPlayerAt(row, col);
+        if (previous != null) {
+            toggleZobristKey(row, col, previous);
+        }
+        clearBits(indexOf(row, col));
+        toggleBlockedKey(row, col);
+        cellFilled(row, col);
+    }
+
+    // Returns the occupancy bitset of the given player (live array, do not modify).
+    public long[] getPlayerMask(int playerIndex) {
+        return playerMasks[playerIndex];
+    }
+
+    // Returns the bitset of empty cells (live array, do not modify).
+    public long[] getEmptyMask() {
+        return emptyMask;
+    }
+
+    private int indexOf(int row, int col) {
+        return row * size + col;
+    }
+
+    private int playerIndexAt(int index) {
+        long bit = 1L << index;
+        for (int p = 0; p < playerMasks.length; p++) {
+            if ((playerMasks[p][index >>> 6] & bit) != 0) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private int playerIndexOf(Player player) {
+        int playerIndex = getPlayerRegistry().indexOf(player);
+        if (playerIndex < 0) {
+            throw new IllegalArgumentException("Player " + player.getName() + " is not part of this board");
+        }
+        return playerIndex;
+    }
+
+    private void clearBits(int index) {
+        long keep = ~(1L << index);
+        emptyMask[index >>> 6] &= keep;
+        for (long[] mask : playerMasks) {
+            mask[index >>> 6] &= keep;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package models;
 
+import strategies.WinningLines;
+import views.BoardRenderer;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,12 +11,49 @@ import java.util.List;
 public class Board {
     private int dimension;
     private List<List<Cell>> grid;
+    // Players of the game in turn order. Used by board implementations that store
+    // occupancy per player index instead of per Cell (see BitBoard).
+    private List<Player> players;
+    // Seats of those players, the index used by the primitive arrays (see PlayerRegistry).
+    private PlayerRegistry registry;
+    // Zobrist fingerprint of the pieces and blocked cells, updated by fillCell/clearCell/blockCell.
+    private long zobristKey;
+    // Flyweight moves, [cell * players + playerIndex], created the first time they are asked for.
+    private Move[] moveCache;
+    // Empty cells, created by the first getFreeCells() call and then kept up to date.
+    private FreeCellIndex freeCells;
+    // Keys of the position under the 8 board symmetries, created by the first getSymmetry() call.
+    private BoardSymmetry symmetry;
+    // Latest immutable copy of the position, null unless enableSnapshots() was called.
+    private volatile BoardSnapshot snapshot;
+    // Frame buffer of display(), created by the first call.
+    private BoardRenderer renderer;
+    // Winning lines of the game, for the searching bots. Set by Game, null when the game's
+    // winning strategies are not known to WinningLines.
+    private WinningLines winningLines;
 
     // Constructor initializes the Board object with the specified dimension.
     // It also initializes the grid, which is a 2D list representing the board's rows and cells.
     public Board(int dimension) {
+        this(dimension, new ArrayList<>());
+    }
+
+    // Same as above, but also remembers the players of the game (in turn order).
+    public Board(int dimension, List<Player> players) {
+        this(dimension, players, true);
+    }
+
+    // Used by subclasses that keep their own representation of the board and do not
+    // need the List<List<Cell>> grid to be populated upfront.
+    protected Board(int dimension, List<Player> players, boolean populateGrid) {
         this.dimension = dimension;
+        this.players = players;
+        this.registry = new PlayerRegistry(players);
+        this.zobristKey = Zobrist.boardKey(dimension, players.size());
         grid = new ArrayList<>(); // Initialize the grid as an empty list
+        if (!populateGrid) {
+            return;
+        }
 
         // Populate the grid with empty cells based on the given dimension.
         for (int i = 0; i < dimension; i++) {
@@ -34,6 +74,12 @@ public class Board {
     // Setter for the grid of cells.
     public void setGrid(List<List<Cell>> grid) {
         this.grid = grid;
+        this.freeCells = null;   // rebuilt from the new grid when asked for
+        this.symmetry = null;
+        this.zobristKey = computeZobristKey();
+        if (snapshot != null) {
+            snapshot = BoardSnapshot.of(this);
+        }
     }
 
     // Getter for the board's dimension.
@@ -46,14 +92,242 @@ public class Board {
         this.dimension = dimension;
     }
 
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public PlayerRegistry getPlayerRegistry() {
+        return registry;
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+        this.registry = new PlayerRegistry(players);
+        this.moveCache = null;   // cached moves belong to the previous players
+        this.symmetry = null;    // so do the piece keys
+        this.zobristKey = computeZobristKey();
+        if (snapshot != null) {
+            snapshot = BoardSnapshot.of(this);
+        }
+    }
+
+    public WinningLines getWinningLines() {
+        return winningLines;
+    }
+
+    public void setWinningLines(WinningLines winningLines) {
+        this.winningLines = winningLines;
+    }
+
+    // 64-bit fingerprint of the pieces and blocked cells on the board (see Zobrist). Equal
+    // positions on boards of the same dimension and number of players have equal keys.
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    // XORs the key of a piece of the player on the given cell in or out of the fingerprint.
+    protected void toggleZobristKey(int row, int col, Player player) {
+        int playerIndex = registry.indexOf(player);
+        zobristKey ^= Zobrist.pieceKey(row * dimension + col, playerIndex);
+        if (symmetry != null) {
+            symmetry.toggle(row * dimension + col, playerIndex);
+        }
+    }
+
+    // Same for a blocked cell.
+    protected void toggleBlockedKey(int row, int col) {
+        zobristKey ^= Zobrist.blockedKey(row * dimension + col);
+        if (symmetry != null) {
+            symmetry.toggleBlocked(row * dimension + col);
+        }
+    }
+
+    // The key of the current position computed from scratch, for when the whole board
+    // changes at once (setGrid, setPlayers).
+    private long computeZobristKey() {
+        long key = Zobrist.boardKey(dimension, players.size());
+        for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j < dimension; j++) {
+                if (isBlocked(i, j)) {
+                    key ^= Zobrist.blockedKey(i * dimension + j);
+                } else if (getPlayerAt(i, j) != null) {
+                    key ^= Zobrist.pieceKey(i * dimension + j, registry.indexOf(getPlayerAt(i, j)));
+                }
+            }
+        }
+        return key;
+    }
+
+    // Returns the keys of the position under its 8 rotations and reflections, to get the
+    // canonical form (see BoardSymmetry). Built from the current position on the first call,
+    // then kept up to date by fillCell/clearCell/blockCell.
+    public BoardSymmetry getSymmetry() {
+        if (symmetry == null) {
+            BoardSymmetry keys = new BoardSymmetry(dimension, players.size());
+            for (int i = 0; i < dimension; i++) {
+                for (int j = 0; j < dimension; j++) {
+                    Player player = getPlayerAt(i, j);
+                    if (isBlocked(i, j)) {
+                        keys.toggleBlocked(i * dimension + j);
+                    } else if (player != null) {
+                        keys.toggle(i * dimension + j, registry.indexOf(player));
+                    }
+                }
+            }
+            symmetry = keys;
+        }
+        return symmetry;
+    }
+
+    // Checks if the given row and column lie inside the board.
+    public boolean isWithinBounds(int row, int col) {
+        return row >= 0 && row < dimension && col >= 0 && col < dimension;
+    }
+
+    // Returns the cell at the given position.
+    public Cell getCell(int row, int col) {
+        return grid.get(row).get(col);
+    }
+
+    // Checks if the cell at the given position is empty (not filled and not blocked).
+    public boolean isEmpty(int row, int col) {
+        return getCell(row, col).getCellState() == CellState.EMPTY;
+    }
+
+    // Checks if the cell at the given position is blocked (nobody can play it).
+    public boolean isBlocked(int row, int col) {
+        return getCell(row, col).getCellState() == CellState.BLOCKED;
+    }
+
+    // Returns the player occupying the given cell, or null if nobody does.
+    public Player getPlayerAt(int row, int col) {
+        return getCell(row, col).getPlayer();
+    }
+
+    // Returns the move of the player on the given cell. Moves are cached per (cell, player),
+    // so asking for the same move again (e.g. after an undo) does not allocate.
+    public Move getMove(int row, int col, Player player) {
+        int playerIndex = registry.indexOf(player);
+        if (playerIndex < 0) {
+            return new Move(getCell(row, col), player);
+        }
+        if (moveCache == null) {
+            moveCache = new Move[dimension * dimension * players.size()];
+        }
+        int slot = (row * dimension + col) * players.size() + playerIndex;
+        Move move = moveCache[slot];
+        if (move == null) {
+            move = new Move(getCell(row, col), player, playerIndex);
+            moveCache[slot] = move;
+        }
+        return move;
+    }
+
+    // Returns the index of the empty cells, e.g. to pick a random one in O(1). It is built
+    // on the first call and then kept up to date by fillCell/clearCell, so changes made to
+    // Cells directly (instead of through the board) are not seen by it.
+    public FreeCellIndex getFreeCells() {
+        if (freeCells == null) {
+            FreeCellIndex index = new FreeCellIndex(dimension * dimension);
+            for (int i = 0; i < dimension; i++) {
+                for (int j = 0; j < dimension; j++) {
+                    if (isEmpty(i, j)) {
+                        index.add(i * dimension + j);
+                    }
+                }
+            }
+            freeCells = index;
+        }
+        return freeCells;
+    }
+
+    // Starts publishing a BoardSnapshot after every change. Call it from the thread that
+    // changes the board; other threads then read getSnapshot() without any locking.
+    public void enableSnapshots() {
+        if (snapshot == null) {
+            snapshot = BoardSnapshot.of(this);
+        }
+    }
+
+    // Latest snapshot of the position, or null if snapshots are not enabled.
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Keep the free cell index and the snapshot (if there are) in line with a cell that
+    // was filled or cleared.
+    protected void cellFilled(int row, int col) {
+        if (freeCells != null) {
+            freeCells.remove(row * dimension + col);
+        }
+        publishSnapshot(row, col);
+    }
+
+    protected void cellCleared(int row, int col) {
+        if (freeCells != null) {
+            freeCells.add(row * dimension + col);
+        }
+        publishSnapshot(row, col);
+    }
+
+    private void publishSnapshot(int row, int col) {
+        BoardSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = current.with(this, row, col);
+        }
+    }
+
+    // Marks the cell at the given position as filled by the player.
+    public void fillCell(int row, int col, Player player) {
+        Cell cell = getCell(row, col);
+        if (cell.getPlayer() != null) {
+            toggleZobristKey(row, col, cell.getPlayer());
+        } else if (cell.getCellState() == CellState.BLOCKED) {
+            toggleBlockedKey(row, col);
+        }
+        toggleZobristKey(row, col, player);
+        cell.setCellState(CellState.FILLED);
+        cell.setPlayer(player);
+        cellFilled(row, col);
+    }
+
+    // Reverts the cell at the given position back to empty.
+    public void clearCell(int row, int col) {
+        Cell cell = getCell(row, col);
+        if (cell.getPlayer() != null) {
+            toggleZobristKey(row, col, cell.getPlayer());
+        } else if (cell.getCellState() == CellState.BLOCKED) {
+            toggleBlockedKey(row, col);
+        }
+        cell.setCellState(CellState.EMPTY);
+        cell.setPlayer(null);
+        cellCleared(row, col);
+    }
+
+    // Blocks the cell at the given position, so nobody can play it. Use this rather than
+    // changing the Cell, so the key, the free cells and the snapshot see the change.
+    public void blockCell(int row, int col) {
+        Cell cell = getCell(row, col);
+        if (cell.getCellState() == CellState.BLOCKED) {
+            return;
+        }
+        if (cell.getPlayer() != null) {
+            toggleZobristKey(row, col, cell.getPlayer());
+        }
+        toggleBlockedKey(row, col);
+        cell.setCellState(CellState.BLOCKED);
+        cell.setPlayer(null);
+        cellFilled(row, col);
+    }
+
     // Displays the current state of the board by iterating through each cell
     // and printing its content to the console.
+    // The whole board is built in one buffer and printed with a single write, instead of
+    // one print per cell (10,000 of them on a 100x100 board).
     public void display() {
-        for (List<Cell> row : grid) {
-            for (Cell cell : row) {
-                cell.display();
-            }
-            System.out.println(); // Move to the next line after displaying a row.
+        if (renderer == null) {
+            renderer = new BoardRenderer();
         }
+        renderer.render(this);
     }
 }
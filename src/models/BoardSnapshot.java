@@ -0,0 +1,126 @@
+package models;
+
+import views.BoardRenderer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable copy of a board's position that any thread can read without locking.
+//
+// A board with snapshots enabled (Board.enableSnapshots()) publishes a new snapshot through
+// a volatile field on every fillCell/clearCell. Snapshots are copy-on-write and share
+// structure: a change copies only the row it touches (dimension bytes) and the array of
+// row references, the other rows are shared with the previous snapshot. So a snapshot
+// costs O(dimension) per move, and a reader holding one sees a consistent position no
+// matter how many moves are played meanwhile.
+//
+// A cell is stored as one byte: EMPTY, BLOCKED, or the player index + 1 (turn order).
+public final class BoardSnapshot {
+    public static final byte EMPTY = 0;
+    public static final byte BLOCKED = -1;
+
+    private final int dimension;
+    private final byte[][] rows;
+    private final List<Player> players;
+    private final long zobristKey;
+    private final int filledCount;
+    private final long version;
+
+    private BoardSnapshot(int dimension, byte[][] rows, List<Player> players, long zobristKey,
+                          int filledCount, long version) {
+        this.dimension = dimension;
+        this.rows = rows;
+        this.players = players;
+        this.zobristKey = zobristKey;
+        this.filledCount = filledCount;
+        this.version = version;
+    }
+
+    // Copies the whole position of the board.
+    static BoardSnapshot of(Board board) {
+        int dimension = board.getDimension();
+        List<Player> players = Collections.unmodifiableList(new ArrayList<>(board.getPlayers()));
+        byte[][] rows = new byte[dimension][dimension];
+        int filled = 0;
+        for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j < dimension; j++) {
+                rows[i][j] = codeOf(board, i, j);
+                if (rows[i][j] != EMPTY) {
+                    filled++;
+                }
+            }
+        }
+        return new BoardSnapshot(dimension, rows, players, board.getZobristKey(), filled, 0);
+    }
+
+    // Returns the next snapshot, with the given cell re-read from the board.
+    BoardSnapshot with(Board board, int row, int col) {
+        byte code = codeOf(board, row, col);
+        byte old = rows[row][col];
+        if (code == old) {
+            return this;
+        }
+        byte[][] newRows = rows.clone();
+        newRows[row] = rows[row].clone();
+        newRows[row][col] = code;
+        int filled = filledCount + (old == EMPTY ? 1 : 0) - (code == EMPTY ? 1 : 0);
+        return new BoardSnapshot(dimension, newRows, players, board.getZobristKey(), filled, version + 1);
+    }
+
+    private static byte codeOf(Board board, int row, int col) {
+        if (board.isEmpty(row, col)) {
+            return EMPTY;
+        }
+        Player player = board.getPlayerAt(row, col);
+        return player == null ? BLOCKED : (byte) (board.getPlayerRegistry().indexOf(player) + 1);
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    // Same key as Board.getZobristKey() had when the snapshot was taken.
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    // Number of cells that are not empty (filled or blocked).
+    public int getFilledCount() {
+        return filledCount;
+    }
+
+    // Increases by one with every published change, so readers can tell snapshots apart.
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty(int row, int col) {
+        return rows[row][col] == EMPTY;
+    }
+
+    public boolean isBlocked(int row, int col) {
+        return rows[row][col] == BLOCKED;
+    }
+
+    // Index (turn order) of the player on the cell, or -1 if it is empty or blocked.
+    public int getPlayerIndexAt(int row, int col) {
+        byte code = rows[row][col];
+        return code > 0 ? code - 1 : -1;
+    }
+
+    public Player getPlayerAt(int row, int col) {
+        int playerIndex = getPlayerIndexAt(row, col);
+        return playerIndex < 0 ? null : players.get(playerIndex);
+    }
+
+    // Prints the snapshot like Board.display(). Renderers that draw often should keep their
+    // own BoardRenderer, this one allocates a frame buffer per call.
+    public void display() {
+        new BoardRenderer().render(this);
+    }
+}
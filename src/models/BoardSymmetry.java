@@ -0,0 +1,111 @@
+package models;
+
+// The 8 symmetries (D4 group: 4 rotations, each with or without a reflection) of a square
+// board, and the Zobrist key of the position under each of them.
+//
+// Transform t moves cell (row * dimension + col) to transforms(dimension)[t][cell].
+// Transform 0 is the identity, so getKey(0) equals Board.getZobristKey(). The canonical
+// form of a position is the transform with the smallest key: all 8 symmetric copies of a
+// position share the same canonical key, so a cache or table keyed by it stores one entry
+// instead of up to 8. A move found for the canonical form is mapped back with
+// fromCanonical().
+//
+// Board keeps its BoardSymmetry up to date on every fillCell/clearCell/blockCell (8 XORs),
+// so the canonical key is available at any time without copying the board.
+public class BoardSymmetry {
+    public static final int TRANSFORMS = 8;
+
+    private final int dimension;
+    private final int[][] forward;    // [transform][cell] -> cell it is moved to
+    private final int[][] backward;   // [transform][cell] -> cell it came from
+    private final long[] keys;        // [transform] -> Zobrist key of the transformed position
+
+    public BoardSymmetry(int dimension, int playerCount) {
+        this.dimension = dimension;
+        this.forward = transforms(dimension);
+        this.backward = new int[TRANSFORMS][dimension * dimension];
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int cell = 0; cell < dimension * dimension; cell++) {
+                backward[t][forward[t][cell]] = cell;
+            }
+        }
+        this.keys = new long[TRANSFORMS];
+        long emptyKey = Zobrist.boardKey(dimension, playerCount);
+        for (int t = 0; t < TRANSFORMS; t++) {
+            keys[t] = emptyKey;
+        }
+    }
+
+    // Adds or removes (XOR) a piece of the player on the cell, in every transform.
+    public void toggle(int cell, int playerIndex) {
+        for (int t = 0; t < TRANSFORMS; t++) {
+            keys[t] ^= Zobrist.pieceKey(forward[t][cell], playerIndex);
+        }
+    }
+
+    // Adds or removes (XOR) a blocked cell, in every transform.
+    public void toggleBlocked(int cell) {
+        for (int t = 0; t < TRANSFORMS; t++) {
+            keys[t] ^= Zobrist.blockedKey(forward[t][cell]);
+        }
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    // Key of the position after applying the given transform.
+    public long getKey(int transform) {
+        return keys[transform];
+    }
+
+    // The transform that gives the canonical (smallest key) form of the position.
+    public int getCanonicalTransform() {
+        int best = 0;
+        for (int t = 1; t < TRANSFORMS; t++) {
+            if (keys[t] < keys[best]) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    public long getCanonicalKey() {
+        return keys[getCanonicalTransform()];
+    }
+
+    // Maps a cell of the board to the position after the transform, and back.
+    public int toCanonical(int transform, int cell) {
+        return forward[transform][cell];
+    }
+
+    public int fromCanonical(int transform, int cell) {
+        return backward[transform][cell];
+    }
+
+    // The 8 symmetries of a square board, as [transform][cell] -> cell it is moved to.
+    // Bit 2 of the transform reflects over the main diagonal, bits 0-1 then rotate by
+    // that many quarter turns.
+    public static int[][] transforms(int dimension) {
+        int[][] transforms = new int[TRANSFORMS][dimension * dimension];
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int r = 0; r < dimension; r++) {
+                for (int c = 0; c < dimension; c++) {
+                    int row = r;
+                    int col = c;
+                    if ((t & 4) != 0) {   // reflect over the main diagonal
+                        row = c;
+                        col = r;
+                    }
+                    for (int turn = 0; turn < (t & 3); turn++) {   // rotate a quarter turn
+                        int rotated = col;
+                        col = dimension - 1 - row;
+                        row = rotated;
+                    }
+                    transforms[t][r * dimension + c] = row * dimension + col;
+                }
+            }
+        }
+        return transforms;
+    }
+}
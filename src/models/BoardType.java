@@ -0,0 +1,6 @@
+package models;
+
+// GRID -> Board backed by List<List<Cell>>, BITBOARD -> BitBoard backed by per-player bitsets.
+public enum BoardType {
+    GRID, BITBOARD
+}
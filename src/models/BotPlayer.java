@@ -1,5 +1,7 @@
 package models;
 
+import factories.BotPlayingStrategyFactory;
+import metrics.GameMetrics;
 import strategies.BotPlayingStrategy;
 
 // The BotPlayer class represents a non-human player in the game. The bot's moves are
@@ -7,22 +9,80 @@ import strategies.BotPlayingStrategy;
 public class BotPlayer extends Player {
     private BotPlayingDifficulty botPlayingDifficulty;
     private BotPlayingStrategy botPlayingStrategy;
+    // Bots made without an explicit strategy use the factory's shared one for their
+    // difficulty and the board size, which is only known at the first move.
+    private final boolean sharedStrategy;
+    private int strategyDimension;
+    private int searchThreads;
+    private long moveTimeMillis;
 
     // Constructor initializes the bot player with an ID, name, symbol, and difficulty level.
-    // The bot's playing strategy is selected based on the difficulty level.
+    // The bot's playing strategy is selected based on the difficulty level (see strategyFor).
     public BotPlayer(String ID, String name, Character symbol, BotPlayingDifficulty botPlayingDifficulty) {
         super(ID, name, symbol, PlayerType.BOT);
         this.botPlayingDifficulty = botPlayingDifficulty;
-        this.botPlayingStrategy = factories.BotPlayingStrategyFactory.getBotPlayingStrategy(botPlayingDifficulty);
+        this.sharedStrategy = true;
+    }
+
+    // Same as above, with the number of search threads and the time per move the bot may
+    // use (only HARD and EXPERT bots search; 0 for the default of either).
+    public BotPlayer(String ID, String name, Character symbol, BotPlayingDifficulty botPlayingDifficulty,
+                     int searchThreads, long moveTimeMillis) {
+        super(ID, name, symbol, PlayerType.BOT);
+        BotPlayingStrategyFactory.checkSearchSettings(searchThreads, moveTimeMillis);
+        this.botPlayingDifficulty = botPlayingDifficulty;
+        this.sharedStrategy = true;
+        this.searchThreads = searchThreads;
+        this.moveTimeMillis = moveTimeMillis;
+    }
+
+    // Same as above, but with an explicitly configured strategy (e.g. a seeded one for
+    // reproducible simulations) instead of the factory default for the difficulty.
+    public BotPlayer(String ID, String name, Character symbol, BotPlayingDifficulty botPlayingDifficulty,
+                     BotPlayingStrategy botPlayingStrategy) {
+        super(ID, name, symbol, PlayerType.BOT);
+        this.botPlayingDifficulty = botPlayingDifficulty;
+        this.botPlayingStrategy = botPlayingStrategy;
+        this.sharedStrategy = false;
+    }
+
+    public BotPlayingDifficulty getBotPlayingDifficulty() {
+        return botPlayingDifficulty;
+    }
+
+    // null for a bot using a shared strategy that has not moved yet.
+    public BotPlayingStrategy getBotPlayingStrategy() {
+        return botPlayingStrategy;
+    }
+
+    // Looks the shared strategy up on the first move, and again if the bot moves on a board
+    // of another size (e.g. in its next game).
+    private BotPlayingStrategy strategyFor(Board board) {
+        BotPlayingStrategy strategy = botPlayingStrategy;
+        if (sharedStrategy && (strategy == null || strategyDimension != board.getDimension())) {
+            strategy = BotPlayingStrategyFactory.getSharedBotPlayingStrategy(botPlayingDifficulty,
+                    board.getDimension(), searchThreads, moveTimeMillis);
+            strategyDimension = board.getDimension();
+            botPlayingStrategy = strategy;
+        }
+        return strategy;
     }
 
     // This method is responsible for making the bot's move. The bot's move is calculated
-    // based on its strategy and the current state of the board.
+    // based on its strategy and the current state of the board. Returns null if the
+    // strategy finds no cell to play (no free cell left).
     @Override
     public Move makeMove(Board board) {
-        System.out.println(this.name + "'s move. Bot player move calculating.");
         // We write the code to make the next move - Cell/Move - Call a botPlayingStrategy
-        Cell cell = botPlayingStrategy.makeMove(board);
-        return new Move(cell, this);
+        GameMetrics metrics = GameMetrics.current();
+        long start = metrics == null ? 0 : System.nanoTime();
+        Cell cell = strategyFor(board).makeMove(board);
+        if (metrics != null) {
+            metrics.recordBotMove(botPlayingDifficulty, System.nanoTime() - start);
+        }
+        if (cell == null) {
+            return null;
+        }
+        return board.getMove(cell.getRow(), cell.getCol(), this);
     }
 }
@@ -1,5 +1,7 @@
 package models;
 
+// EXPERT bots run a Monte Carlo tree search, meant for large boards and 3+ players where
+// the HARD bot's full width search cannot look far ahead.
 public enum BotPlayingDifficulty {
-    EASY, MEDIUM, HARD
+    EASY, MEDIUM, HARD, EXPERT
 }
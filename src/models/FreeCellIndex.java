@@ -0,0 +1,54 @@
+package models;
+
+import java.util.Arrays;
+
+// Set of the empty cells of a board (cell index = row * dimension + col) that supports
+// add, remove and "pick the i-th element" in O(1): the cells are packed at the front of
+// an array, and a position map says where each cell sits, so a removal moves the last
+// cell into the hole (swap-remove). The order of the cells is therefore not meaningful.
+public class FreeCellIndex {
+    private final int[] cells;       // cells[0 .. size-1] are the free cells
+    private final int[] positions;   // [cell] -> index in cells, or -1 if the cell is not free
+    private int size;
+
+    // Creates an empty index for a board with the given number of cells.
+    public FreeCellIndex(int cellCount) {
+        this.cells = new int[cellCount];
+        this.positions = new int[cellCount];
+        Arrays.fill(positions, -1);
+    }
+
+    public void add(int cell) {
+        if (positions[cell] >= 0) {
+            return;
+        }
+        cells[size] = cell;
+        positions[cell] = size;
+        size++;
+    }
+
+    public void remove(int cell) {
+        int position = positions[cell];
+        if (position < 0) {
+            return;
+        }
+        size--;
+        int last = cells[size];
+        cells[position] = last;
+        positions[last] = position;
+        positions[cell] = -1;
+    }
+
+    public boolean contains(int cell) {
+        return positions[cell] >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Returns the i-th free cell, 0 <= i < size().
+    public int get(int i) {
+        return cells[i];
+    }
+}
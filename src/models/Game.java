@@ -1,7 +1,14 @@
 package models;
 
+import metrics.GameMetrics;
+import strategies.WinningLines;
 import strategies.WinningStrategy;
 import validations.gameValidations.DimensionAndPlayerCount;
+import validations.gameValidations.SearchableWinningStrategies;
+import validations.gameValidations.UniqueSymbols;
+import validations.moveValidations.MoveRule;
+import validations.moveValidations.MoveValidationResult;
+import validations.moveValidations.MoveValidator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,15 +23,43 @@ public class Game {
     private List<Move> moves;
     private GameState gameState;
     private List<WinningStrategy> winningStrategies;
+    private List<GameListener> listeners;
+    // Moves taken back by undo / rewindTo that redo can play again, the next one last.
+    private List<Move> redoMoves;
+    // Saved positions every checkpointInterval moves of the current line (0 -> none).
+    private int checkpointInterval;
+    private List<Checkpoint> checkpoints;
+    // Checks of a move, compiled once for this game (see MoveValidator).
+    private MoveValidator moveValidator;
+    // Set by close(): the game is abandoned and takes no more moves.
+    private boolean closed;
+    // Metrics that count this game as active (in progress and not closed), null if none do.
+    private GameMetrics activeIn;
 
     // The Game constructor initializes the game with the specified board dimension,
     // list of players, and winning strategies. The game state is initially set to IN_PROGRESS.
     public Game(int dimension, List<Player> players, List<WinningStrategy> winningStrategies) {
-        this.board = new Board(dimension);
+        this(dimension, players, winningStrategies, BoardType.GRID);
+    }
+
+    // Same as above, but lets the caller pick how the board is stored in memory.
+    public Game(int dimension, List<Player> players, List<WinningStrategy> winningStrategies, BoardType boardType) {
+        this.board = boardType == BoardType.BITBOARD ? new BitBoard(dimension, players) : new Board(dimension, players);
         this.players = players;
         this.winningStrategies = winningStrategies;
+        this.board.setWinningLines(WinningLines.of(dimension, winningStrategies));
         this.gameState = GameState.IN_PROGRESS;
-        this.moves = new ArrayList<>();   // ==> added later
+        this.moves = new ArrayList<>(dimension * dimension);   // ==> added later, sized for a full board
+        this.listeners = new ArrayList<>();
+        this.redoMoves = new ArrayList<>();
+        this.checkpoints = new ArrayList<>();
+        this.moveValidator = MoveValidator.compile(dimension, new ArrayList<>());
+
+        GameMetrics metrics = GameMetrics.current();
+        if (metrics != null) {
+            metrics.gameStarted();
+        }
+        updateActiveGames();
     }
 
     public Board getBoard() {
@@ -43,6 +78,11 @@ public class Game {
         this.players = players;
     }
 
+    // Seats of the players (same order as getPlayers()), registered when the board was built.
+    public PlayerRegistry getPlayerRegistry() {
+        return board.getPlayerRegistry();
+    }
+
     public int getNextPlayerIndex() {
         return nextPlayerIndex;
     }
@@ -51,6 +91,12 @@ public class Game {
         this.nextPlayerIndex = nextPlayerIndex;
     }
 
+    // 64-bit Zobrist fingerprint of the position: the pieces on the board plus the player
+    // to move. Kept up to date in O(1) by makeMove and undo.
+    public long getZobristKey() {
+        return board.getZobristKey() ^ Zobrist.turnKey(nextPlayerIndex);
+    }
+
     public Player getWinner() {
         return winner;
     }
@@ -82,38 +128,65 @@ public class Game {
 
     public void setWinningStrategies(List<WinningStrategy> winningStrategies) {
         this.winningStrategies = winningStrategies;
+        board.setWinningLines(WinningLines.of(board.getDimension(), winningStrategies));
+    }
+
+    // Registers a listener notified after every move, undo and change of the game state.
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Latest immutable snapshot of the board (safe to read from any thread), or null if the
+    // game was built without setPublishSnapshots(true).
+    public BoardSnapshot getSnapshot() {
+        return board.getSnapshot();
     }
 
     public void displayBoard() {
         this.board.display();
     }
 
+    // Checks a move of the player whose turn it is. A refused move is reported to the
+    // listeners (onMoveRejected) with the reason, e.g. for the console to tell the person
+    // who typed it in; playing a game never prints anything.
     public boolean validateMove(Move move){
         // Extract row and column indices from the move's cell for validation.
         int r = move.cell.getRow();
         int c = move.cell.getCol();
 
-        // Check if the cell is within the valid grid boundaries.
-        if(r < 0 || r > board.getDimension() - 1 || c < 0 || c > board.getDimension() - 1){
-            System.out.println("Invalid Move, Please try again!");
-            return false;  // Return false if the cell is out of bounds.
+        // Run the game's rules: bounds, blocked and filled cells, then any extra rules.
+        MoveValidationResult result = moveValidator.validate(board, r, c);
+        if(result != MoveValidationResult.VALID){
+            for(int i = 0; i < listeners.size(); i++){
+                listeners.get(i).onMoveRejected(this, move, result);
+            }
+            return false;
         }
 
         // Retrieve the actual cell from the board using the row and column indices.
-        Cell cellToUpdate = board.getGrid().get(move.getCell().getRow()).get(move.getCell().getCol());
+        Cell cellToUpdate = board.getCell(r, c);
 
         // Update the move object with the actual cell to ensure accuracy.
-        move.setCell(cellToUpdate);
-
-        // Check if the cell is already occupied by a previous move.
-        if(!move.getCell().getCellState().equals(CellState.EMPTY)){
-            System.out.println("Cell already filled, Please try again!");
-            return false;  // Return false if the cell is already filled.
+        if (move.getCell() != cellToUpdate) {
+            move.setCell(cellToUpdate);
         }
 
         return true;  // Return true if the move is valid.
     }
 
+    // Checks whether the player whose turn it is may play the given cell, without notifying
+    // anyone or allocating: VALID, or the reason the move would be refused.
+    public MoveValidationResult checkMove(int row, int col){
+        if(!gameState.equals(GameState.IN_PROGRESS)){
+            return MoveValidationResult.GAME_OVER;
+        }
+        return moveValidator.validate(board, row, col);
+    }
+
     // This method processes the player's move, updates the game state, and checks for a winner.
     public void makeMove() {
         // Identify the current player based on the index.
@@ -121,14 +194,80 @@ public class Game {
 
         // Keep prompting the current player to make a move until a valid move is made.
         Move move;
+        boolean valid;
         do{
             // Prompt the player to make a move on the board.
             move = currentPlayer.makeMove(board);
-        }while(!validateMove(move));  // Repeat until a valid move is made.
+            if(move == null){
+                // Asking again would give the same answer, so stop instead of looping.
+                throw new IllegalStateException(currentPlayer.getName() + " has no move to make");
+            }
+            valid = validateMove(move);
+            GameMetrics metrics = GameMetrics.current();
+            if(!valid && metrics != null){
+                metrics.invalidMove();   // Count the retry.
+            }
+        }while(!valid);  // Repeat until a valid move is made.
+
+        startNewLine();
+        applyMove(move);
+    }
+
+    // Plays the given cell for the player whose turn it is, without asking the player
+    // (used to replay recorded games). Returns false, and changes nothing, if checkMove
+    // refuses the move.
+    public boolean replayMove(int row, int col) {
+        if(checkMove(row, col) != MoveValidationResult.VALID){
+            return false;
+        }
+        startNewLine();
+        applyMove(board.getMove(row, col, players.get(nextPlayerIndex)));
+        return true;
+    }
+
+    // A new move replaces the moves that could be redone, and the checkpoints after it.
+    private void startNewLine() {
+        if(!redoMoves.isEmpty()){
+            redoMoves.clear();
+            int last = checkpoints.size() - 1;
+            while(last >= 0 && checkpoints.get(last).moveCount > moves.size()){
+                checkpoints.remove(last--);
+            }
+        }
+    }
+
+    // Puts a validated move on the board, updates the game state and passes the turn.
+    private void applyMove(Move move) {
+        playMove(move);
+
+        GameMetrics metrics = GameMetrics.current();
+        if(metrics != null){
+            metrics.movePlayed();
+        }
+        updateActiveGames();
+
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).onMove(this, move);
+        }
+        if(!gameState.equals(GameState.IN_PROGRESS)){
+            for(int i = 0; i < listeners.size(); i++){
+                listeners.get(i).onStateChange(this, gameState, winner);
+            }
+        }
+    }
+
+    // The board, strategy and state part of applyMove, without notifying anyone.
+    private void playMove(Move move) {
+        Player currentPlayer = move.getPlayer();
+        // A move built outside this game (e.g. new Move(cell, player) by a player seated in
+        // several games) may carry another seat; the winning strategies need this game's one.
+        int seat = board.getPlayerRegistry().indexOf(currentPlayer);
+        if(move.playerIndex != seat){
+            move.playerIndex = seat;
+        }
 
         // Update the board with the player's move by setting the cell's state and associating it with the player.
-        move.getCell().setCellState(CellState.FILLED);
-        move.getCell().setPlayer(currentPlayer);
+        board.fillCell(move.getCell().getRow(), move.getCell().getCol(), currentPlayer);
 
         // Record the move in the list of moves.
         moves.add(move);
@@ -137,54 +276,176 @@ public class Game {
         if(checkWinner(move)){
             setGameState(GameState.GAME_WON);  // Update the game state to indicate a win.
             setWinner(currentPlayer);  // Set the current player as the winner.
-        } else if(moves.size() == board.getDimension() * board.getDimension()){  // Check if the board is full.
+        } else if(board.getFreeCells().size() == 0){  // Check if the board is full (blocked cells never fill up).
             setGameState(GameState.DRAW);  // If the board is full and no winner, set the game state to draw.
             setWinner(null);  // No winner in case of a draw.
         }
 
         // Update the index to determine the next player in a round-robin fashion.
         nextPlayerIndex = (nextPlayerIndex + 1) % players.size();
+
+        if(checkpointInterval > 0 && moves.size() % checkpointInterval == 0
+                && (checkpoints.isEmpty() || checkpoints.get(checkpoints.size() - 1).moveCount < moves.size())){
+            checkpoints.add(new Checkpoint(this));
+        }
     }
 
     // This method reverts the last move made in the game, effectively performing an "undo" operation.
-    public void undo(Game game){
+    // Returns false if there is no move to undo.
+    public boolean undo(Game game){
         // Check if there are any moves to undo.
         if(moves.size() <= 0){
-            System.out.println("No moves left to Undo");
-            return;  // Exit if there are no moves to undo.
+            return false;  // Exit if there are no moves to undo.
         }
 
-        // Retrieve the last move made and remove it from the move list.
-        Move lastMove = moves.get(moves.size() - 1);
-        moves.remove(lastMove);
+        // Retrieve the last move made and remove it from the move list (redo can play it again).
+        Move lastMove = moves.remove(moves.size() - 1);
+        redoMoves.add(lastMove);
 
         // Revert the board's state by clearing the last move's cell.
-        lastMove.getCell().setCellState(CellState.EMPTY);
-        lastMove.getCell().setPlayer(null);
+        board.clearCell(lastMove.getCell().getRow(), lastMove.getCell().getCol());
 
         // Update any relevant data structures in the winning strategies to reflect the undo.
-        for(WinningStrategy ws : winningStrategies){
-            ws.handleUndo(lastMove);
+        for(int i = 0; i < winningStrategies.size(); i++){
+            winningStrategies.get(i).handleUndo(lastMove);
+        }
+
+        boolean reopened = !gameState.equals(GameState.IN_PROGRESS);
+        GameMetrics metrics = GameMetrics.current();
+        if(metrics != null){
+            metrics.moveUndone();
         }
 
         // Reset the game state to "in progress" and clear the winner in case the game was previously won or drawn.
         setGameState(GameState.IN_PROGRESS);
         setWinner(null);
+        updateActiveGames();
 
         // Update the next player index to the previous player, maintaining correct turn order.
         nextPlayerIndex--;
         nextPlayerIndex = (nextPlayerIndex + players.size()) % players.size();  // Ensure the index is within valid range.
+
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).onUndo(this, lastMove);
+        }
+        if(reopened){
+            for(int i = 0; i < listeners.size(); i++){
+                listeners.get(i).onStateChange(this, gameState, null);
+            }
+        }
+        return true;
+    }
+
+    // Marks the game as abandoned (its players quit, or the server dropped it), so an
+    // unfinished game stops counting as active in the metrics. Finished games are not
+    // active anyway, closing them changes nothing.
+    public void close(){
+        closed = true;
+        updateActiveGames();
+    }
+
+    public boolean isClosed(){
+        return closed;
+    }
+
+    // Counts the game in or out of the active games of the metrics: in while it is in
+    // progress and not closed. A game is counted out of the metrics it was counted in, so
+    // enabling or disabling metrics while games run does not skew the count.
+    private void updateActiveGames(){
+        boolean active = !closed && gameState.equals(GameState.IN_PROGRESS);
+        if(active && activeIn == null){
+            activeIn = GameMetrics.current();
+            if(activeIn != null){
+                activeIn.gameOpened();
+            }
+        } else if(!active && activeIn != null){
+            activeIn.gameClosed();
+            activeIn = null;
+        }
+    }
+
+    // Plays the last undone move again. Returns false if there is none.
+    public boolean redo(){
+        if(redoMoves.isEmpty()){
+            return false;
+        }
+        applyMove(redoMoves.remove(redoMoves.size() - 1));
+        return true;
+    }
+
+    // Number of moves redo can play again.
+    public int getRedoCount(){
+        return redoMoves.size();
+    }
+
+    // Takes the game to the position after the first moveCount moves of the current line
+    // (the moves played plus the ones that can be redone), backwards or forwards.
+    //
+    // A short distance is walked with undo / redo, which notify the listeners move by
+    // move. A longer one restores the nearest checkpoint at or before moveCount and plays
+    // the few moves after it without notifications; listeners then get a single
+    // onRewind (and onStateChange if the state changed).
+    public void rewindTo(int moveCount){
+        int lineLength = moves.size() + redoMoves.size();
+        if(moveCount < 0 || moveCount > lineLength){
+            throw new IllegalArgumentException("Move " + moveCount + " is not in the game's history (0.." + lineLength + ")");
+        }
+        int distance = Math.abs(moveCount - moves.size());
+        Checkpoint checkpoint = null;
+        for(int i = checkpoints.size() - 1; i >= 0; i--){
+            if(checkpoints.get(i).moveCount <= moveCount){
+                checkpoint = checkpoints.get(i);
+                break;
+            }
+        }
+        // Restoring touches every cell, so it only pays off when it saves a few steps.
+        if(checkpoint == null || moveCount - checkpoint.moveCount + checkpointInterval > distance){
+            while(moves.size() > moveCount){
+                undo(this);
+            }
+            while(moves.size() < moveCount){
+                redo();
+            }
+            return;
+        }
+
+        int previousMoveCount = moves.size();
+        GameState previousState = gameState;
+        // Line the move lists up with the checkpoint, then restore and play forward.
+        while(moves.size() > checkpoint.moveCount){
+            redoMoves.add(moves.remove(moves.size() - 1));
+        }
+        while(moves.size() < checkpoint.moveCount){
+            moves.add(redoMoves.remove(redoMoves.size() - 1));
+        }
+        checkpoint.restore(this);
+        while(moves.size() < moveCount){
+            playMove(redoMoves.remove(redoMoves.size() - 1));
+        }
+
+        updateActiveGames();
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).onRewind(this, previousMoveCount);
+        }
+        if(!previousState.equals(gameState)){
+            for(int i = 0; i < listeners.size(); i++){
+                listeners.get(i).onStateChange(this, gameState, winner);
+            }
+        }
     }
 
 
     private boolean checkWinner(Move move) {
-        //Different strategies - any one of those strategies are fulfilled we have a winner
-        for(WinningStrategy ws : winningStrategies){
-            if(ws.checkWinner(board, move)){
-                return true;
+        //Different strategies - any one of those strategies are fulfilled we have a winner.
+        // Every strategy sees every move, even after one already found a winner: they all
+        // count the move, and all take it back again in undo.
+        boolean won = false;
+        for(int i = 0; i < winningStrategies.size(); i++){
+            if(winningStrategies.get(i).checkWinner(board, move)){
+                won = true;
             }
         }
-        return false;
+        return won;
     }
 
     // next player pointer already updated, so to get current player we write this
@@ -202,6 +463,64 @@ public class Game {
         }
     }
 
+    // Compact copy of the game after moveCount moves: one byte per cell (player index + 1,
+    // 0 for empty), the state of every winning strategy, the turn and the result.
+    private static class Checkpoint {
+        private final int moveCount;
+        private final byte[] cells;
+        private final Object[] strategyStates;
+        private final int nextPlayerIndex;
+        private final GameState gameState;
+        private final Player winner;
+
+        Checkpoint(Game game) {
+            Board board = game.board;
+            int dimension = board.getDimension();
+            this.moveCount = game.moves.size();
+            this.cells = new byte[dimension * dimension];
+            for(int r = 0; r < dimension; r++){
+                for(int c = 0; c < dimension; c++){
+                    cells[r * dimension + c] = (byte) (board.getPlayerRegistry().indexOf(board.getPlayerAt(r, c)) + 1);
+                }
+            }
+            this.strategyStates = new Object[game.winningStrategies.size()];
+            for(int i = 0; i < strategyStates.length; i++){
+                strategyStates[i] = game.winningStrategies.get(i).saveState();
+            }
+            this.nextPlayerIndex = game.nextPlayerIndex;
+            this.gameState = game.gameState;
+            this.winner = game.winner;
+        }
+
+        // Puts the board (only the cells that differ), the strategies and the turn back.
+        // Blocked cells are not part of the moves and stay as they are.
+        void restore(Game game) {
+            Board board = game.board;
+            int dimension = board.getDimension();
+            for(int r = 0; r < dimension; r++){
+                for(int c = 0; c < dimension; c++){
+                    int saved = cells[r * dimension + c];
+                    int current = board.isEmpty(r, c) ? 0 : board.getPlayerRegistry().indexOf(board.getPlayerAt(r, c)) + 1;
+                    if(saved == current){
+                        continue;
+                    }
+                    if(current != 0){
+                        board.clearCell(r, c);
+                    }
+                    if(saved != 0){
+                        board.fillCell(r, c, game.players.get(saved - 1));
+                    }
+                }
+            }
+            for(int i = 0; i < strategyStates.length; i++){
+                game.winningStrategies.get(i).restoreState(strategyStates[i]);
+            }
+            game.nextPlayerIndex = nextPlayerIndex;
+            game.gameState = gameState;
+            game.winner = winner;
+        }
+    }
+
     // The GameBuilder class is used to construct a Game object with a fluent API.
     public static Builder getBuilder() {
         return new Builder();
@@ -215,6 +534,10 @@ public class Game {
         private int dimension;
         private List<Player> players;
         private List<WinningStrategy> winningStrategies;
+        private BoardType boardType = BoardType.GRID;
+        private boolean publishSnapshots;
+        private int checkpointInterval;
+        private List<MoveRule> moveRules = new ArrayList<>();
 
         public Builder setDimension(int dimension) {
             this.dimension = dimension;
@@ -231,10 +554,42 @@ public class Game {
             return this;
         }
 
+        public Builder setBoardType(BoardType boardType) {
+            this.boardType = boardType;
+            return this;
+        }
+
+        // Publishes a BoardSnapshot after every move, for readers on other threads
+        // (spectators, metrics, bots thinking in the background). Off by default.
+        public Builder setPublishSnapshots(boolean publishSnapshots) {
+            this.publishSnapshots = publishSnapshots;
+            return this;
+        }
+
+        // Saves a checkpoint every checkpointInterval moves, so rewindTo a distant move only
+        // replays the moves after the nearest checkpoint. Off (0) by default.
+        public Builder setCheckpointInterval(int checkpointInterval) {
+            if (checkpointInterval < 0) {
+                throw new IllegalArgumentException("Checkpoint interval should not be negative");
+            }
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        // Adds a check every move of the game must pass, after the bounds and the standard
+        // rules (blocked and filled cells). Rules run in the order they were added.
+        public Builder addMoveRule(MoveRule moveRule) {
+            this.moveRules.add(moveRule);
+            return this;
+        }
+
         private void validateConfigParams() throws Exception {
             // Validate dimension and player count
             DimensionAndPlayerCount.validate(this.dimension, this.players);
-            // Validating unique symbols - HashSet/Stream, distinct
+            // Validate unique symbols
+            UniqueSymbols.validate(this.players);
+            // Validate that the searching bots know the winning strategies
+            SearchableWinningStrategies.validate(this.dimension, this.players, this.winningStrategies);
             // Validate bot count - count number bots in playerlist, check if it is <= 1
         }
 
@@ -243,7 +598,18 @@ public class Game {
             // we will also validate `this` parameter
             // Homework - write three validations
             validateConfigParams();
-            return new Game(this.dimension, this.players, this.winningStrategies);
+            Game game = new Game(this.dimension, this.players, this.winningStrategies, this.boardType);
+            if (!moveRules.isEmpty()) {
+                game.moveValidator = MoveValidator.compile(dimension, moveRules);
+            }
+            if (publishSnapshots) {
+                game.getBoard().enableSnapshots();
+            }
+            if (checkpointInterval > 0) {
+                game.checkpointInterval = checkpointInterval;
+                game.checkpoints.add(new Checkpoint(game));   // the empty board
+            }
+            return game;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package models;
+
+import validations.moveValidations.MoveValidationResult;
+
+// Gets notified about changes of a Game (e.g. to persist or broadcast them).
+// Called on the thread that changed the game, after the change has been applied.
+public interface GameListener {
+    public void onMove(Game game, Move move);
+    public void onUndo(Game game, Move move);
+
+    // The game ended (GAME_WON with its winner, or DRAW), or an undo reopened it
+    // (IN_PROGRESS). Called after onMove / onUndo of the move that caused it.
+    default void onStateChange(Game game, GameState gameState, Player winner) {
+    }
+
+    // Game.validateMove refused a move the player made (the player is then asked again).
+    default void onMoveRejected(Game game, Move move, MoveValidationResult result) {
+    }
+
+    // Game.rewindTo jumped from previousMoveCount moves to game.getMoves().size() moves of
+    // the same line, without an onMove / onUndo per move.
+    default void onRewind(Game game, int previousMoveCount) {
+    }
+}
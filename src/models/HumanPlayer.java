@@ -1,29 +1,47 @@
 package models;
 
-import java.sql.SQLOutput;
-import java.util.Scanner;
+import inputs.ConsolePlayerInput;
+import inputs.PlayerInput;
 
 public class HumanPlayer extends Player{
-    Scanner sc = new Scanner(System.in);
+    private PlayerInput input;
 
+    // Player typing their moves on the console.
     public HumanPlayer(String ID, String name, Character symbol) {
+        this(ID, name, symbol, ConsolePlayerInput.getInstance());
+    }
+
+    // Player whose moves come from the given input (console, server, ...).
+    public HumanPlayer(String ID, String name, Character symbol, PlayerInput input) {
         super(ID, name, symbol, PlayerType.HUMAN);
+        this.input = input;
+    }
+
+    public PlayerInput getInput() {
+        return input;
+    }
+
+    public void setInput(PlayerInput input) {
+        this.input = input;
     }
 
     // we will wait for player input
     @Override
     public Move makeMove(Board board) {
-        System.out.println(this.name + "'s move. Please make your move.");
+        input.promptMove(this.name);
 
         // We'll be waiting for player input
-        System.out.println("Enter row: ");
-        int r = sc.nextInt();
+        input.prompt("Enter row: ");
+        int r = input.nextInt();
 
-        System.out.println("Enter column: ");
-        int c = sc.nextInt();
+        input.prompt("Enter column: ");
+        int c = input.nextInt();
 
-        // create the move - cell (dummy cell/move, will check if move is valid or not in other part
-        Cell cell = new Cell(r, c);
-        return new Move(cell, this);
+        // create the move - the board's cached move for that cell, or a dummy cell/move when
+        // the input is off the board (the game rejects it in validateMove)
+        if (board.isWithinBounds(r, c)) {
+            return board.getMove(r, c, this);
+        }
+        return new Move(new Cell(r, c), this);
     }
 }
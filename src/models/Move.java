@@ -3,10 +3,18 @@ package models;
 public class Move {
     Cell cell;
     Player player;
+    // Seat of the player in the game (see PlayerRegistry), for the primitive arrays of the
+    // boards and winning strategies.
+    int playerIndex;
 
     public Move(Cell cell, Player player) {
+        this(cell, player, player == null ? -1 : player.getSeat());
+    }
+
+    Move(Cell cell, Player player, int playerIndex) {
         this.cell = cell;
         this.player = player;
+        this.playerIndex = playerIndex;
     }
 
     public Cell getCell() {
@@ -23,5 +31,10 @@ public class Move {
 
     public void setPlayer(Player player) {
         this.player = player;
+        this.playerIndex = player == null ? -1 : player.getSeat();
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
     }
 }
@@ -5,6 +5,8 @@ public abstract class Player {
     protected String name;
     private Character symbol;
     private PlayerType playerType;
+    // Seat in the game the player was last registered in, see PlayerRegistry.
+    private int seat = -1;
 
     public Player(String ID, String name, Character symbol, PlayerType playerType) {
         this.ID = ID;
@@ -45,6 +47,15 @@ public abstract class Player {
         this.playerType = playerType;
     }
 
+    int getSeat() {
+        return seat;
+    }
+
+    void setSeat(int seat) {
+        this.seat = seat;
+    }
+
     // all players should make move (we can pass Board/Game obj)
+    // Returns null when the player has no move to make (a bot on a board without free cells).
     public abstract Move makeMove(Board board);
 }
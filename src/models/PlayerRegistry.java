@@ -0,0 +1,52 @@
+package models;
+
+import java.util.List;
+
+// Dense seat numbers of the players of one game: 0 for the first player in turn order, 1
+// for the next, and so on. Boards, moves and winning strategies use these indices for
+// their primitive arrays instead of hashing Player, Character or String keys; the Player
+// based API stays for callers.
+//
+// Registering also stores the seat in the Player itself, so indexOf is a field read and one
+// comparison. A player seated in several games at once (at different seats) still gets the
+// right answer, through a scan of the seats.
+public final class PlayerRegistry {
+    private final Player[] players;
+
+    PlayerRegistry(List<Player> players) {
+        this.players = players.toArray(new Player[0]);
+        for (int i = 0; i < this.players.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (this.players[j] == this.players[i]) {
+                    throw new IllegalArgumentException("Player " + this.players[i].getName() + " has more than one seat");
+                }
+            }
+            this.players[i].setSeat(i);
+        }
+    }
+
+    public int size() {
+        return players.length;
+    }
+
+    public Player get(int index) {
+        return players[index];
+    }
+
+    // Seat of the player, or -1 if the player is not part of this game.
+    public int indexOf(Player player) {
+        if (player == null) {
+            return -1;
+        }
+        int seat = player.getSeat();
+        if (seat >= 0 && seat < players.length && players[seat] == player) {
+            return seat;
+        }
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
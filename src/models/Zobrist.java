@@ -0,0 +1,52 @@
+package models;
+
+// Zobrist keys used to fingerprint board positions. A position key is the XOR of
+// - boardKey(dimension, playerCount)    -> the empty board of that size and number of players
+// - pieceKey(cell, playerIndex)         -> for every filled cell (cell = row * dimension + col)
+// - blockedKey(cell)                    -> for every blocked cell
+// - turnKey(playerIndex)                -> for the player to move (Game only)
+// so placing or removing a piece, or passing the turn, is a single XOR. Blocked cells and
+// the player count are part of the key: the same pieces with another cell blocked, or in
+// a game with more players, are another position with other moves.
+//
+// Keys are computed from a fixed seed, so the same position gets the same key in every
+// game and every process (needed for caches and replay deduplication).
+public class Zobrist {
+    private static final long BOARD_SEED = 0x3C6EF372FE94F82BL;
+    private static final long PIECE_SEED = 0xA54FF53A5F1D36F1L;
+    private static final long TURN_SEED = 0x510E527FADE682D1L;
+    private static final long LINE_SEED = 0x9B05688C2B3E6C1FL;
+    private static final long BLOCKED_SEED = 0x1F83D9ABFB41BD6BL;
+
+    private Zobrist() {
+    }
+
+    public static long boardKey(int dimension, int playerCount) {
+        return mix(BOARD_SEED + (((long) dimension << 16) | playerCount));
+    }
+
+    public static long pieceKey(int cell, int playerIndex) {
+        return mix(PIECE_SEED + (((long) cell << 16) | playerIndex));
+    }
+
+    public static long blockedKey(int cell) {
+        return mix(BLOCKED_SEED + cell);
+    }
+
+    public static long turnKey(int playerIndex) {
+        return mix(TURN_SEED + playerIndex);
+    }
+
+    // Key of one winning line (see WinningLines), not part of position keys.
+    public static long lineKey(int start, int step, int length) {
+        return mix(LINE_SEED + (((long) start << 42) ^ ((long) step << 21) ^ length));
+    }
+
+    // SplitMix64 finalizer, spreads small integers over all 64 bits.
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,92 @@
+package persistence;
+
+import models.GameState;
+
+import java.nio.ByteBuffer;
+
+// Read-only view of one archived game, reading straight from the mapped archive file
+// (nothing is copied). A view can be moved to another record with at(), so a scan over
+// the whole archive reuses a single instance.
+//
+// Record layout (big endian), see GameArchive:
+//   0  long  gameId
+//   8  short dimension
+//   10 byte  playerCount
+//   11 byte  gameState (GameState ordinal)
+//   12 byte  winnerIndex (-1 if there is no winner)
+//   13 byte  unused
+//   14 int   moveCount
+//   18 char  symbol of every player, in turn order
+//   ..       cell index (row * dimension + col) of every move, 2 bytes each when the board
+//            has at most 65536 cells, 4 bytes otherwise. The player of move i is i % playerCount.
+public class ArchivedGame {
+    static final int HEADER_SIZE = 18;
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    ArchivedGame at(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public long getGameId() {
+        return buffer.getLong(offset);
+    }
+
+    public int getDimension() {
+        return buffer.getShort(offset + 8);
+    }
+
+    public int getPlayerCount() {
+        return buffer.get(offset + 10);
+    }
+
+    public GameState getGameState() {
+        return GAME_STATES[buffer.get(offset + 11)];
+    }
+
+    // Index (turn order) of the winner, or -1 if the game has no winner.
+    public int getWinnerIndex() {
+        return buffer.get(offset + 12);
+    }
+
+    public int getMoveCount() {
+        return buffer.getInt(offset + 14);
+    }
+
+    public char getSymbol(int playerIndex) {
+        return buffer.getChar(offset + HEADER_SIZE + 2 * playerIndex);
+    }
+
+    public int getMoveRow(int moveIndex) {
+        return getMoveCell(moveIndex) / getDimension();
+    }
+
+    public int getMoveCol(int moveIndex) {
+        return getMoveCell(moveIndex) % getDimension();
+    }
+
+    public int getMovePlayerIndex(int moveIndex) {
+        return moveIndex % getPlayerCount();
+    }
+
+    private int getMoveCell(int moveIndex) {
+        int movesOffset = offset + HEADER_SIZE + 2 * getPlayerCount();
+        if (usesShortCells(getDimension())) {
+            return Short.toUnsignedInt(buffer.getShort(movesOffset + 2 * moveIndex));
+        }
+        return buffer.getInt(movesOffset + 4 * moveIndex);
+    }
+
+    static boolean usesShortCells(int dimension) {
+        return dimension * dimension <= 65536;
+    }
+
+    // Size in bytes of a record with the given shape.
+    static int recordSize(int dimension, int playerCount, int moveCount) {
+        return HEADER_SIZE + 2 * playerCount + (usesShortCells(dimension) ? 2 : 4) * moveCount;
+    }
+}
@@ -0,0 +1,224 @@
+package persistence;
+
+import models.Game;
+import models.Move;
+import models.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Archive of finished games for analytics, stored in two files of a directory:
+// - games.dat: one record per game (layout documented in ArchivedGame), appended.
+// - games.idx: one 16-byte entry per game (long gameId, long offset in games.dat).
+//
+// Game IDs must be appended in increasing order, so the index is sorted and a lookup is a
+// binary search over the memory-mapped index. Reads go through MappedByteBuffers and
+// ArchivedGame views, without copying records out of the mapping.
+//
+// A MappedByteBuffer covers at most 2 GB, so games.dat is mapped in 1 GB segments and a
+// record never crosses a segment boundary (the writer skips to the next segment instead).
+public class GameArchive implements AutoCloseable {
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private long dataSize;
+    private long entryCount;
+    private long lastGameId = Long.MIN_VALUE;
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(4096);
+    private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+
+    // Current mappings, extended when the files grow.
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private MappedByteBuffer indexMap;
+    private long mappedEntries;
+
+    private GameArchive(FileChannel data, FileChannel index) throws IOException {
+        this.data = data;
+        this.index = index;
+        this.entryCount = index.size() / INDEX_ENTRY_SIZE;
+        index.truncate(entryCount * INDEX_ENTRY_SIZE);
+
+        // The index is written after the record, so it decides what the archive contains.
+        // Anything in games.dat behind the last indexed record was not committed.
+        dataSize = data.size();
+        if (entryCount > 0) {
+            ByteBuffer last = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            index.read(last, (entryCount - 1) * INDEX_ENTRY_SIZE);
+            lastGameId = last.getLong(0);
+            long lastOffset = last.getLong(8);
+            ArchivedGame lastGame = view(lastOffset, new ArchivedGame());
+            dataSize = lastOffset + ArchivedGame.recordSize(lastGame.getDimension(),
+                    lastGame.getPlayerCount(), lastGame.getMoveCount());
+        } else {
+            dataSize = 0;
+        }
+        data.truncate(dataSize);
+    }
+
+    // Opens the archive in the given directory, creating it if needed.
+    public static GameArchive open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel data = FileChannel.open(directory.resolve("games.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = FileChannel.open(directory.resolve("games.idx"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new GameArchive(data, index);
+    }
+
+    // Appends a game under the given ID, which must be greater than every ID archived so far.
+    public synchronized void append(long gameId, Game game) throws IOException {
+        if (gameId <= lastGameId) {
+            throw new IllegalArgumentException("Game IDs must be appended in increasing order");
+        }
+        List<Player> players = game.getPlayers();
+        List<Move> moves = game.getMoves();
+        int dimension = game.getBoard().getDimension();
+        int size = ArchivedGame.recordSize(dimension, players.size(), moves.size());
+        if (size > SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Game " + gameId + " is too large to archive");
+        }
+
+        // Start a new segment if the record would cross the current segment's end.
+        long offset = dataSize;
+        if (offset / SEGMENT_SIZE != (offset + size - 1) / SEGMENT_SIZE) {
+            offset = (offset / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+        }
+
+        if (writeBuffer.capacity() < size) {
+            writeBuffer = ByteBuffer.allocate(Math.max(size, writeBuffer.capacity() * 2));
+        }
+        ByteBuffer record = writeBuffer;
+        record.clear();
+        record.putLong(gameId);
+        record.putShort((short) dimension);
+        record.put((byte) players.size());
+        record.put((byte) game.getGameState().ordinal());
+        record.put((byte) (game.getWinner() == null ? -1 : game.getPlayerRegistry().indexOf(game.getWinner())));
+        record.put((byte) 0);
+        record.putInt(moves.size());
+        for (Player player : players) {
+            record.putChar(player.getSymbol());
+        }
+        boolean shortCells = ArchivedGame.usesShortCells(dimension);
+        for (Move move : moves) {
+            int cell = move.getCell().getRow() * dimension + move.getCell().getCol();
+            if (shortCells) {
+                record.putShort((short) cell);
+            } else {
+                record.putInt(cell);
+            }
+        }
+        record.flip();
+        writeFully(data, record, offset);
+
+        indexEntry.clear();
+        indexEntry.putLong(gameId).putLong(offset).flip();
+        writeFully(index, indexEntry, entryCount * INDEX_ENTRY_SIZE);
+
+        dataSize = offset + size;
+        entryCount++;
+        lastGameId = gameId;
+    }
+
+    // Looks up a game by ID. Returns null if the archive does not contain it.
+    public ArchivedGame find(long gameId) throws IOException {
+        return find(gameId, new ArchivedGame());
+    }
+
+    // Same as above, but fills the given view instead of creating one.
+    public synchronized ArchivedGame find(long gameId, ArchivedGame view) throws IOException {
+        mapIndex();
+        long low = 0;
+        long high = entryCount - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midId = indexMap.getLong((int) (mid * INDEX_ENTRY_SIZE));
+            if (midId < gameId) {
+                low = mid + 1;
+            } else if (midId > gameId) {
+                high = mid - 1;
+            } else {
+                return view(indexMap.getLong((int) (mid * INDEX_ENTRY_SIZE + 8)), view);
+            }
+        }
+        return null;
+    }
+
+    // Visits every archived game in ID order. The same view instance is passed for every
+    // game, so consumers must not keep it.
+    public void forEach(Consumer<ArchivedGame> consumer) throws IOException {
+        ArchivedGame view = new ArchivedGame();
+        long count;
+        synchronized (this) {
+            mapIndex();
+            count = entryCount;
+        }
+        for (long i = 0; i < count; i++) {
+            long offset;
+            synchronized (this) {
+                offset = indexMap.getLong((int) (i * INDEX_ENTRY_SIZE + 8));
+                view(offset, view);
+            }
+            consumer.accept(view);
+        }
+    }
+
+    public synchronized long size() {
+        return entryCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        data.close();
+        index.close();
+    }
+
+    private ArchivedGame view(long offset, ArchivedGame view) throws IOException {
+        int segment = (int) (offset / SEGMENT_SIZE);
+        return view.at(mapSegment(segment), (int) (offset % SEGMENT_SIZE));
+    }
+
+    // Maps (or re-maps, if records were appended since) the segment containing the offset.
+    private MappedByteBuffer mapSegment(int segment) throws IOException {
+        if (segment >= segments.length) {
+            MappedByteBuffer[] grown = new MappedByteBuffer[segment + 1];
+            System.arraycopy(segments, 0, grown, 0, segments.length);
+            segments = grown;
+        }
+        long start = segment * SEGMENT_SIZE;
+        MappedByteBuffer mapped = segments[segment];
+        long end = Math.min(dataSize, start + SEGMENT_SIZE);
+        if (mapped == null || start + mapped.capacity() < end) {
+            long length = end - start;
+            mapped = data.map(FileChannel.MapMode.READ_ONLY, start, length);
+            segments[segment] = mapped;
+        }
+        return mapped;
+    }
+
+    private void mapIndex() throws IOException {
+        if (indexMap == null || mappedEntries < entryCount) {
+            long length = entryCount * INDEX_ENTRY_SIZE;
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Index larger than 2 GB is not supported");
+            }
+            indexMap = index.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            mappedEntries = entryCount;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
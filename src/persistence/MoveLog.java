@@ -0,0 +1,231 @@
+package persistence;
+
+import models.Game;
+import models.GameListener;
+import models.Move;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// Append-only binary log of every move and undo of the games it listens to, so in-flight
+// games survive a process restart.
+//
+// Record layout (10 bytes, big endian):
+//   int   gameId
+//   short row
+//   short col
+//   byte  playerIndex   (seat of the player who made the move)
+//   byte  type          (MOVE or UNDO)
+//
+// Appends go to an in-memory buffer. A background thread writes the buffer to the
+// FileChannel every flush interval (group commit), so many moves share one write and one
+// force() call. flush() writes and forces everything appended so far.
+//
+// If a write fails, the partly written batch is cut off the file again (so the log only
+// holds whole batches) and kept in memory, and the log stops: every later append and
+// flush, and close, throw the failure instead of acting as if records were stored.
+public class MoveLog implements AutoCloseable {
+    public static final int RECORD_SIZE = 10;
+    public static final byte MOVE = 1;
+    public static final byte UNDO = 2;
+
+    // Receives the records of a log, in the order they were written.
+    public interface RecordHandler {
+        void onRecord(int gameId, byte type, int row, int col, int playerIndex);
+    }
+
+    private final FileChannel channel;
+    private final boolean forceOnFlush;
+    private final Thread flusher;
+    private ByteBuffer pending;     // records appended since the last write, guarded by this
+    private ByteBuffer writing;     // buffer being written, only used by flush()
+    private volatile boolean closed;
+    private volatile IOException failure;   // first failed write, the log is unusable after it
+
+    // Opens (or creates) the log at the given path for appending.
+    // flushIntervalMillis -> how long appends are batched before they are written;
+    // forceOnFlush -> whether every batch is forced to the storage device (fsync).
+    public MoveLog(Path path, long flushIntervalMillis, boolean forceOnFlush) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        // Drop a record torn by a crash in the middle of a write, so new records stay aligned.
+        channel.truncate(channel.size() - channel.size() % RECORD_SIZE);
+        channel.position(channel.size());
+        this.forceOnFlush = forceOnFlush;
+        this.pending = ByteBuffer.allocate(64 * 1024);
+        this.writing = ByteBuffer.allocate(64 * 1024);
+
+        this.flusher = new Thread(() -> {
+            while (!closed) {
+                try {
+                    Thread.sleep(flushIntervalMillis);
+                    flush();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    return;   // Kept in failure, the next append or flush reports it.
+                }
+            }
+        }, "move-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Returns a listener that logs the moves and undos of a game under the given ID.
+    public GameListener listenerFor(int gameId) {
+        return new GameListener() {
+            @Override
+            public void onMove(Game game, Move move) {
+                append(gameId, MOVE, move.getCell().getRow(), move.getCell().getCol(),
+                        move.getPlayerIndex());
+            }
+
+            @Override
+            public void onUndo(Game game, Move move) {
+                append(gameId, UNDO, move.getCell().getRow(), move.getCell().getCol(),
+                        move.getPlayerIndex());
+            }
+
+            // Logged as the undos / moves it amounts to (recovery ignores the cell of an undo).
+            @Override
+            public void onRewind(Game game, int previousMoveCount) {
+                List<Move> moves = game.getMoves();
+                for (int i = previousMoveCount; i > moves.size(); i--) {
+                    append(gameId, UNDO, 0, 0, 0);
+                }
+                for (int i = previousMoveCount; i < moves.size(); i++) {
+                    Move move = moves.get(i);
+                    append(gameId, MOVE, move.getCell().getRow(), move.getCell().getCol(),
+                            move.getPlayerIndex());
+                }
+            }
+        };
+    }
+
+    public synchronized void append(int gameId, byte type, int row, int col, int playerIndex) {
+        if (closed) {
+            throw new IllegalStateException("Move log is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Move log stopped after a failed write", failure);
+        }
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer bigger = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        pending.putInt(gameId);
+        pending.putShort((short) row);
+        pending.putShort((short) col);
+        pending.put((byte) playerIndex);
+        pending.put(type);
+    }
+
+    // Writes every record appended so far and, if configured, forces it to disk.
+    public void flush() throws IOException {
+        synchronized (channel) {
+            if (failure != null) {
+                throw new IOException("Move log stopped after a failed write", failure);
+            }
+            synchronized (this) {
+                if (pending.position() == 0) {
+                    return;
+                }
+                // Swap buffers so appenders can go on while the batch is written.
+                ByteBuffer batch = pending;
+                pending = writing;
+                writing = batch;
+            }
+            long batchStart = -1;
+            writing.flip();
+            try {
+                batchStart = channel.position();
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+                if (forceOnFlush) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                // Keep the batch whole in memory, and the file free of a torn batch.
+                writing.rewind();
+                if (batchStart >= 0) {
+                    try {
+                        channel.truncate(batchStart);
+                    } catch (IOException truncateFailure) {
+                        e.addSuppressed(truncateFailure);
+                    }
+                }
+                failure = e;
+                throw e;
+            }
+            writing.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+        }
+        flusher.interrupt();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Reads the log at the given path and hands every complete record to the handler.
+    public static void replay(Path path, RecordHandler handler) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 64 * 1024);
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int gameId = buffer.getInt();
+                    int row = buffer.getShort();
+                    int col = buffer.getShort();
+                    int playerIndex = buffer.get();
+                    byte type = buffer.get();
+                    handler.onRecord(gameId, type, row, col, playerIndex);
+                }
+                buffer.compact();
+            }
+        }
+    }
+
+    // Rebuilds the games recorded in the log. gameFactory creates an empty game (same
+    // dimension, players and winning strategies as the original) for a game ID; the moves
+    // are then replayed through Game.replayMove / Game.undo, which also rebuilds the
+    // winning-strategy counters. Attach the log's listener only after recovery, otherwise
+    // the replayed moves are logged a second time.
+    public static Map<Integer, Game> recover(Path path, IntFunction<Game> gameFactory) throws IOException {
+        Map<Integer, Game> games = new HashMap<>();
+        replay(path, (gameId, type, row, col, playerIndex) -> {
+            Game game = games.computeIfAbsent(gameId, gameFactory::apply);
+            if (type == MOVE) {
+                if (game.getNextPlayerIndex() != playerIndex || !game.replayMove(row, col)) {
+                    throw new IllegalStateException("Move log does not match game " + gameId + " at (" + row + ", " + col + ")");
+                }
+            } else if (type == UNDO) {
+                game.undo(game);
+            }
+        });
+        return games;
+    }
+}
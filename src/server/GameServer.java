@@ -0,0 +1,141 @@
+package server;
+
+import inputs.QueuedPlayerInput;
+import models.Game;
+import models.HumanPlayer;
+import models.Player;
+import strategies.WinningStrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// In-process server hosting many games at once. Games are registered under a game ID
+// (the game_id mentioned in Client) and clients send move commands for them.
+//
+// Each game is a GameSession that processes its own commands one at a time, so no lock
+// is shared between games. Sessions run on virtual threads when the JVM provides them
+// (Java 21+), otherwise on a work-stealing pool; a session only occupies a thread while
+// it has commands to process, so idle games cost no thread at all.
+public class GameServer implements AutoCloseable {
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public GameServer() {
+        this(newSessionExecutor());
+    }
+
+    public GameServer(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // Creates and registers a game. The moves of human players come from the commands the
+    // server receives: the session hands each one to the player's QueuedPlayerInput (see
+    // newHumanPlayer) and the player plays it.
+    public GameSession createGame(String gameId, int dimension, List<Player> players,
+                                  List<WinningStrategy> winningStrategies) throws Exception {
+        Game game = Game.getBuilder()
+                .setDimension(dimension)
+                .setPlayers(players)
+                .setWinningStrategies(winningStrategies)
+                .build();
+        GameSession session = new GameSession(gameId, game, executor);
+        if (sessions.putIfAbsent(gameId, session) != null) {
+            throw new IllegalArgumentException("Game " + gameId + " already exists");
+        }
+        session.schedule();  // lets bots seated first make their moves
+        return session;
+    }
+
+    public static HumanPlayer newHumanPlayer(String ID, String name, Character symbol) {
+        return new HumanPlayer(ID, name, symbol, new QueuedPlayerInput());
+    }
+
+    // Sends a move to a game. The returned future completes once the game has processed it
+    // (including the replies of any bots that play next).
+    public CompletableFuture<MoveResult> submitMove(String gameId, String playerId, int row, int col) {
+        MoveCommand command = new MoveCommand(gameId, playerId, row, col);
+        GameSession session = sessions.get(gameId);
+        if (session == null) {
+            command.getResult().complete(MoveResult.REJECTED);
+        } else {
+            session.submit(command);
+        }
+        return command.getResult();
+    }
+
+    // Sends many moves, for any number of games, in one call. Commands of the same game are
+    // applied in the order of the list, games are processed in parallel, and each game's
+    // session is scheduled once for all of its commands.
+    // The returned future completes with one result per command, in the order of the list,
+    // once every command is processed (exceptionally if one failed; the command's own
+    // future then tells which).
+    public CompletableFuture<List<MoveResult>> submitMoves(List<MoveCommand> commands) {
+        Map<String, List<MoveCommand>> byGame = new HashMap<>();
+        CompletableFuture<?>[] results = new CompletableFuture<?>[commands.size()];
+        for (int i = 0; i < commands.size(); i++) {
+            MoveCommand command = commands.get(i);
+            results[i] = command.getResult();
+            byGame.computeIfAbsent(command.getGameId(), gameId -> new ArrayList<>()).add(command);
+        }
+        for (Map.Entry<String, List<MoveCommand>> entry : byGame.entrySet()) {
+            GameSession session = sessions.get(entry.getKey());
+            if (session == null) {
+                for (MoveCommand command : entry.getValue()) {
+                    command.getResult().complete(MoveResult.REJECTED);
+                }
+            } else {
+                session.submitAll(entry.getValue());
+            }
+        }
+        return CompletableFuture.allOf(results).thenApply(done -> {
+            List<MoveResult> moveResults = new ArrayList<>(commands.size());
+            for (MoveCommand command : commands) {
+                moveResults.add(command.getResult().join());
+            }
+            return moveResults;
+        });
+    }
+
+    public GameSession getSession(String gameId) {
+        return sessions.get(gameId);
+    }
+
+    // Unregisters the game and closes it, so an unfinished game no longer counts as active.
+    public GameSession removeGame(String gameId) {
+        GameSession session = sessions.remove(gameId);
+        if (session != null) {
+            session.close();
+        }
+        return session;
+    }
+
+    public int getGameCount() {
+        return sessions.size();
+    }
+
+    // Closes every game still registered, then stops the executor once they are done.
+    @Override
+    public void close() {
+        for (GameSession session : sessions.values()) {
+            session.close();
+        }
+        sessions.clear();
+        executor.shutdown();
+    }
+
+    // Virtual thread per task executor if the running JVM has one. Looked up reflectively
+    // so the code still compiles and runs on older Java versions.
+    static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newWorkStealingPool();
+        }
+    }
+}
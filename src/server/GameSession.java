@@ -0,0 +1,193 @@
+package server;
+
+import inputs.PlayerInput;
+import inputs.QueuedPlayerInput;
+import models.*;
+import validations.moveValidations.MoveValidationResult;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One hosted game. Commands for the game are put in its mailbox and processed by at most
+// one task at a time, so moves of a game are applied in order and never concurrently,
+// while different games run in parallel without any shared lock. Nothing on that path
+// prints (bots included), so sessions never queue on the System.out lock either.
+//
+// If a bot's move throws, the game cannot go on: the session is marked failed, and that
+// command and every pending or later one complete exceptionally with getFailure().
+//
+// close() (GameServer.removeGame) closes the game on the session's own thread, once the
+// commands already queued are processed; later commands complete exceptionally with a
+// "session closed" IllegalStateException.
+public class GameSession {
+    private final String gameId;
+    private final Game game;
+    private final int dimension;
+    private final Executor executor;
+    private final Queue<MoveCommand> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile IllegalStateException failure;
+    private volatile boolean closing;
+
+    GameSession(String gameId, Game game, Executor executor) {
+        this.gameId = gameId;
+        this.game = game;
+        this.dimension = game.getBoard().getDimension();
+        this.executor = executor;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    // The hosted game. Only read it from outside the session when no commands are pending.
+    public Game getGame() {
+        return game;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    // Why the session stopped (the cause is the bot's exception), or null if it did not.
+    public IllegalStateException getFailure() {
+        return failure;
+    }
+
+    // Closes the game (see Game.close()) after the commands already queued.
+    void close() {
+        closing = true;
+        schedule();
+    }
+
+    void submit(MoveCommand command) {
+        if (closing) {
+            command.getResult().completeExceptionally(closedException());
+            return;
+        }
+        mailbox.add(command);
+        schedule();
+    }
+
+    // Queues the commands of a batch for this game, in order, with a single drain task.
+    // Cells outside the board are rejected right away without waiting for the session.
+    void submitAll(List<MoveCommand> commands) {
+        boolean queued = false;
+        for (int i = 0; i < commands.size(); i++) {
+            MoveCommand command = commands.get(i);
+            if (closing) {
+                command.getResult().completeExceptionally(closedException());
+            } else if (command.getRow() < 0 || command.getRow() >= dimension
+                    || command.getCol() < 0 || command.getCol() >= dimension) {
+                command.getResult().complete(MoveResult.REJECTED);
+            } else {
+                mailbox.add(command);
+                queued = true;
+            }
+        }
+        if (queued) {
+            schedule();
+        }
+    }
+
+    // Starts a drain task unless one is already running or queued for this session.
+    void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            if (failure == null && !game.isClosed()) {
+                // Bots seated before the first human move right away.
+                playBotTurns();
+                MoveCommand command;
+                while (failure == null && (command = mailbox.poll()) != null) {
+                    try {
+                        command.getResult().complete(apply(command));
+                    } catch (RuntimeException e) {
+                        command.getResult().completeExceptionally(e);
+                    }
+                }
+            }
+        } catch (IllegalStateException e) {
+            // The bots seated first failed, playBotTurns marked the session failed.
+        } finally {
+            if ((closing || failure != null) && !game.isClosed()) {
+                game.close();
+            }
+            // Nothing is processed any more, fail what is left instead of leaving it queued.
+            if (game.isClosed()) {
+                RuntimeException reason = failure != null ? failure : closedException();
+                MoveCommand command;
+                while ((command = mailbox.poll()) != null) {
+                    command.getResult().completeExceptionally(reason);
+                }
+            }
+            scheduled.set(false);
+            // A command (or close()) may have arrived after the last poll but before the
+            // flag was reset. Every drain empties the mailbox, so this does not spin.
+            if (!mailbox.isEmpty() || closing && !game.isClosed()) {
+                schedule();
+            }
+        }
+    }
+
+    private IllegalStateException closedException() {
+        return new IllegalStateException("Game " + gameId + " session closed");
+    }
+
+    private MoveResult apply(MoveCommand command) {
+        if (game.isClosed() || !game.getGameState().equals(GameState.IN_PROGRESS)) {
+            return MoveResult.REJECTED;
+        }
+        Player player = game.getPlayers().get(game.getNextPlayerIndex());
+        if (!(player instanceof HumanPlayer) || !player.getID().equals(command.getPlayerId())) {
+            return MoveResult.REJECTED;
+        }
+        // Refused by the game's rules (see Game.checkMove): outside the board, blocked or
+        // filled cell, or a rule added to the game builder. Checked before the player is
+        // handed the move, so makeMove never waits for a second try.
+        if (game.checkMove(command.getRow(), command.getCol()) != MoveValidationResult.VALID) {
+            return MoveResult.REJECTED;
+        }
+        PlayerInput input = ((HumanPlayer) player).getInput();
+        if (input instanceof QueuedPlayerInput) {
+            // The player reads the move from its input, like a console player (nothing is printed).
+            ((QueuedPlayerInput) input).offerMove(command.getRow(), command.getCol());
+            game.makeMove();
+        } else {
+            // Not an input the server feeds (e.g. a console player), play the cell without asking.
+            game.replayMove(command.getRow(), command.getCol());
+        }
+        playBotTurns();
+        return resultOf(game.getGameState());
+    }
+
+    // Plays the bots whose turn it is. Throws (and marks the session failed) if one of
+    // them cannot move, since the game would then wait for that bot forever.
+    private void playBotTurns() {
+        try {
+            while (game.getGameState().equals(GameState.IN_PROGRESS)
+                    && game.getPlayers().get(game.getNextPlayerIndex()).getPlayerType().equals(PlayerType.BOT)) {
+                game.makeMove();
+            }
+        } catch (RuntimeException e) {
+            failure = new IllegalStateException("Game " + gameId + " stopped, a bot move failed", e);
+            throw failure;
+        }
+    }
+
+    static MoveResult resultOf(GameState gameState) {
+        if (gameState.equals(GameState.GAME_WON)) {
+            return MoveResult.WON;
+        } else if (gameState.equals(GameState.DRAW)) {
+            return MoveResult.DRAW;
+        }
+        return MoveResult.ACCEPTED;
+    }
+}
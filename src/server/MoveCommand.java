@@ -0,0 +1,40 @@
+package server;
+
+import java.util.concurrent.CompletableFuture;
+
+// A player's request to play a cell in a game. The result is completed by the game's
+// session once the command has been processed.
+public class MoveCommand {
+    private final String gameId;
+    private final String playerId;
+    private final int row;
+    private final int col;
+    private final CompletableFuture<MoveResult> result = new CompletableFuture<>();
+
+    public MoveCommand(String gameId, String playerId, int row, int col) {
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.row = row;
+        this.col = col;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public CompletableFuture<MoveResult> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package server;
+
+// Outcome of a move command sent to the server.
+// ACCEPTED -> move played, game goes on; REJECTED -> move not played (unknown game,
+// not the sender's turn, invalid cell or game already over); WON / DRAW -> the game ended
+// with this move or with the bot moves that followed it.
+public enum MoveResult {
+    ACCEPTED, REJECTED, WON, DRAW
+}
@@ -0,0 +1,98 @@
+package simulation;
+
+import models.BotPlayingDifficulty;
+
+import java.io.PrintStream;
+
+// Aggregated outcome of a batch of simulated games: wins per seat, wins and appearances
+// per difficulty, draws, and the wall clock time the batch took.
+public class TournamentResult {
+    private final int seats;
+    private long games;
+    private long draws;
+    private final long[] winsBySeat;
+    private final long[] winsByDifficulty;
+    private final long[] seatsByDifficulty;   // how many times a difficulty took a seat
+    private long elapsedNanos;
+
+    public TournamentResult(int seats) {
+        this.seats = seats;
+        this.winsBySeat = new long[seats];
+        this.winsByDifficulty = new long[BotPlayingDifficulty.values().length];
+        this.seatsByDifficulty = new long[BotPlayingDifficulty.values().length];
+    }
+
+    // Records one game. winnerSeat is -1 for a draw.
+    void record(BotPlayingDifficulty[] lineup, int winnerSeat) {
+        games++;
+        for (BotPlayingDifficulty difficulty : lineup) {
+            seatsByDifficulty[difficulty.ordinal()]++;
+        }
+        if (winnerSeat < 0) {
+            draws++;
+        } else {
+            winsBySeat[winnerSeat]++;
+            winsByDifficulty[lineup[winnerSeat].ordinal()]++;
+        }
+    }
+
+    void merge(TournamentResult other) {
+        games += other.games;
+        draws += other.draws;
+        for (int i = 0; i < seats; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        for (int i = 0; i < winsByDifficulty.length; i++) {
+            winsByDifficulty[i] += other.winsByDifficulty[i];
+            seatsByDifficulty[i] += other.seatsByDifficulty[i];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getWinsBySeat(int seat) {
+        return winsBySeat[seat];
+    }
+
+    public long getWinsByDifficulty(BotPlayingDifficulty difficulty) {
+        return winsByDifficulty[difficulty.ordinal()];
+    }
+
+    // Share of its seats a difficulty converted into a win.
+    public double getWinRate(BotPlayingDifficulty difficulty) {
+        long appearances = seatsByDifficulty[difficulty.ordinal()];
+        return appearances == 0 ? 0 : (double) winsByDifficulty[difficulty.ordinal()] / appearances;
+    }
+
+    public double getDrawRate() {
+        return games == 0 ? 0 : (double) draws / games;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Games: %,d in %.2fs (%,.0f games/sec)%n", games, elapsedNanos / 1e9, getGamesPerSecond());
+        out.printf("Draw rate: %.2f%%%n", getDrawRate() * 100);
+        for (int seat = 0; seat < seats; seat++) {
+            out.printf("Seat %d win rate: %.2f%%%n", seat + 1, games == 0 ? 0 : winsBySeat[seat] * 100.0 / games);
+        }
+        for (BotPlayingDifficulty difficulty : BotPlayingDifficulty.values()) {
+            if (seatsByDifficulty[difficulty.ordinal()] > 0) {
+                out.printf("%-6s win rate: %.2f%% (%,d wins)%n", difficulty, getWinRate(difficulty) * 100,
+                        winsByDifficulty[difficulty.ordinal()]);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package simulation;
+
+import factories.BotPlayingStrategyFactory;
+import models.*;
+import strategies.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Plays bot-vs-bot games without any console interaction. Games are created through
+// Game.Builder with BotPlayers only and run across a fixed thread pool, and the outcomes
+// are aggregated into a TournamentResult (win rates per seat and per difficulty).
+//
+// Every game gets its own seed derived from the tournament seed and the game number, and
+// all bots of that game draw from it, so the same seed gives the same results no matter
+// how many threads are used. HARD bots search to a fixed depth and EXPERT bots run a fixed
+// number of playouts (single threaded, seeded) for the same reason.
+//
+// Strategies are not created per game: EASY bots use the factory's shared strategy, and
+// HARD and EXPERT bots share one strategy per task of GAMES_PER_TASK games. Those two keep
+// state between moves (transposition table, tree), so they are not shared across tasks:
+// a task always plays the same games in the same order, whichever thread runs it.
+//
+// Run: java simulation.TournamentRunner [games] [threads] [seed] [dimension] [lineup]
+//      e.g. java simulation.TournamentRunner 1000000 8 42 3 EASY,MEDIUM
+public class TournamentRunner {
+    private static final int GAMES_PER_TASK = 1_000;
+
+    private final int dimension;
+    private final BotPlayingDifficulty[] lineup;
+    private final int threads;
+    private final long seed;
+    private final int hardSearchDepth;
+    private final int expertPlayouts;
+    private final boolean rotateSeats;
+
+    private TournamentRunner(Builder builder) {
+        this.dimension = builder.dimension;
+        this.lineup = builder.lineup.toArray(new BotPlayingDifficulty[0]);
+        this.threads = builder.threads;
+        this.seed = builder.seed;
+        this.hardSearchDepth = builder.hardSearchDepth;
+        this.expertPlayouts = builder.expertPlayouts;
+        this.rotateSeats = builder.rotateSeats;
+    }
+
+    public static Builder getBuilder() {
+        return new Builder();
+    }
+
+    // Plays the given number of games. Bot games print nothing, so the rest of the process
+    // keeps its console. Returns once every game has finished and the pool threads are gone.
+    public TournamentResult run(long games) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        TournamentResult result = new TournamentResult(lineup.length);
+        long start = System.nanoTime();
+        try {
+            List<Future<TournamentResult>> futures = new ArrayList<>();
+            for (long first = 0; first < games; first += GAMES_PER_TASK) {
+                long from = first;
+                long to = Math.min(games, first + GAMES_PER_TASK);
+                futures.add(pool.submit(() -> playGames(from, to)));
+            }
+            for (Future<TournamentResult> future : futures) {
+                result.merge(future.get());
+            }
+        } finally {
+            // On failure the queued tasks are cancelled and the running ones stop after their
+            // current game (see playGames); either way nothing runs once run() returns.
+            pool.shutdownNow();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private TournamentResult playGames(long from, long to) throws Exception {
+        TournamentResult result = new TournamentResult(lineup.length);
+        BotPlayingDifficulty[] seating = new BotPlayingDifficulty[lineup.length];
+        // The task's HARD and EXPERT strategies, created when first needed.
+        BotPlayingStrategy[] taskStrategies = new BotPlayingStrategy[BotPlayingDifficulty.values().length];
+        long taskSeed = seed + from * 0x9E3779B97F4A7C15L;
+        for (long gameNumber = from; gameNumber < to; gameNumber++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Tournament cancelled");
+            }
+            // Rotating the lineup gives every difficulty every seat equally often.
+            int shift = rotateSeats ? (int) (gameNumber % lineup.length) : 0;
+            for (int seat = 0; seat < lineup.length; seat++) {
+                seating[seat] = lineup[(seat + shift) % lineup.length];
+            }
+            result.record(seating, playGame(gameNumber, seating, taskStrategies, taskSeed));
+        }
+        return result;
+    }
+
+    // Plays one game and returns the winning seat, or -1 for a draw.
+    private int playGame(long gameNumber, BotPlayingDifficulty[] seating, BotPlayingStrategy[] taskStrategies,
+                         long taskSeed) throws Exception {
+        Random random = new Random(seed + gameNumber * 0x9E3779B97F4A7C15L);
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < seating.length; seat++) {
+            BotPlayingStrategy strategy = strategyFor(seating[seat], random.nextLong(), taskStrategies, taskSeed);
+            players.add(new BotPlayer(String.valueOf(seat + 1), "Bot" + (seat + 1), (char) ('A' + seat),
+                    seating[seat], strategy));
+        }
+        List<WinningStrategy> winningStrategies = new ArrayList<>();
+        winningStrategies.add(new RowWinningStrategy());
+        winningStrategies.add(new ColumnWinningStrategy());
+
+        Game game = Game.getBuilder()
+                .setDimension(dimension)
+                .setPlayers(players)
+                .setWinningStrategies(winningStrategies)
+                .build();
+        while (game.getGameState().equals(GameState.IN_PROGRESS)) {
+            game.makeMove();
+        }
+        return game.getWinner() == null ? -1 : game.getPlayerRegistry().indexOf(game.getWinner());
+    }
+
+    private BotPlayingStrategy strategyFor(BotPlayingDifficulty difficulty, long gameSeed,
+                                           BotPlayingStrategy[] taskStrategies, long taskSeed) {
+        if (difficulty.equals(BotPlayingDifficulty.EASY)) {
+            return BotPlayingStrategyFactory.getSharedBotPlayingStrategy(difficulty, dimension);
+        } else if (difficulty.equals(BotPlayingDifficulty.MEDIUM)) {
+            // Only a seeded Random, cheap enough to make per game and seat.
+            return new MediumBotPlayingStrategy(new Random(gameSeed));
+        }
+        BotPlayingStrategy strategy = taskStrategies[difficulty.ordinal()];
+        if (strategy == null) {
+            strategy = difficulty.equals(BotPlayingDifficulty.EXPERT)
+                    ? new MonteCarloBotPlayingStrategy(0, expertPlayouts, 1, 0, taskSeed)
+                    // No time limit, only a depth limit: the search then does the same work on every run.
+                    : new HardBotPlayingStrategy(Long.MAX_VALUE / 1_000_000L, hardSearchDepth, 12);
+            taskStrategies[difficulty.ordinal()] = strategy;
+        }
+        return strategy;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        int dimension = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        String lineup = args.length > 4 ? args[4] : "EASY,MEDIUM";
+
+        Builder builder = getBuilder()
+                .setDimension(dimension)
+                .setThreads(threads)
+                .setSeed(seed);
+        for (String difficulty : lineup.split(",")) {
+            builder.addSeat(BotPlayingDifficulty.valueOf(difficulty.trim()));
+        }
+        builder.build().run(games).print(System.out);
+    }
+
+    public static class Builder {
+        private int dimension = 3;
+        private final List<BotPlayingDifficulty> lineup = new ArrayList<>();
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private long seed;
+        private int hardSearchDepth = 4;
+        private int expertPlayouts = 1_000;
+        private boolean rotateSeats = true;
+
+        public Builder setDimension(int dimension) {
+            this.dimension = dimension;
+            return this;
+        }
+
+        // Adds the next seat (turn order) with a bot of the given difficulty.
+        public Builder addSeat(BotPlayingDifficulty difficulty) {
+            this.lineup.add(difficulty);
+            return this;
+        }
+
+        public Builder setThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder setHardSearchDepth(int hardSearchDepth) {
+            this.hardSearchDepth = hardSearchDepth;
+            return this;
+        }
+
+        public Builder setExpertPlayouts(int expertPlayouts) {
+            this.expertPlayouts = expertPlayouts;
+            return this;
+        }
+
+        public Builder setRotateSeats(boolean rotateSeats) {
+            this.rotateSeats = rotateSeats;
+            return this;
+        }
+
+        public TournamentRunner build() {
+            if (lineup.size() <= 1) {
+                throw new IllegalArgumentException("A tournament needs at least two seats");
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("Thread count should be at least 1");
+            }
+            return new TournamentRunner(this);
+        }
+    }
+}
@@ -3,39 +3,37 @@ package strategies;
 import models.Board;
 import models.Move;
 
-import java.util.HashMap;
-
 public class ColumnWinningStrategy implements WinningStrategy{
-    HashMap<Integer, HashMap<Character, Integer>> colCountMap;
-
-    public ColumnWinningStrategy() {
-        this.colCountMap = new HashMap<>();
-    }
+    // colCounts[col * players + playerIndex] -> cells of the column owned by the player
+    // (same layout as RowWinningStrategy).
+    private int[] colCounts;
+    private int playerCount;
+    private int dimension;
 
     @Override
     public boolean checkWinner(Board board, Move move) {
+        if (colCounts == null) {
+            dimension = board.getDimension();
+            playerCount = board.getPlayers().size();
+            colCounts = new int[dimension * playerCount];
+        }
 
         int c = move.getCell().getCol();
-        Character symbol = move.getPlayer().getSymbol();
-
-        colCountMap.putIfAbsent(c, new HashMap<>());
-        HashMap<Character, Integer> countMap = colCountMap.get(c);
-
-        countMap.putIfAbsent(symbol, 0);
-        countMap.put(symbol, countMap.get(symbol) + 1);
-
-        if(countMap.get(symbol) == board.getDimension()){
-            return true;
-        }
-        return false;
+        return ++colCounts[c * playerCount + move.getPlayerIndex()] == dimension;
     }
 
     @Override
     public void handleUndo(Move move) {
-        int c = move.getCell().getRow();
-        Character symbol = move.getPlayer().getSymbol();
+        colCounts[move.getCell().getCol() * playerCount + move.getPlayerIndex()]--;
+    }
+
+    @Override
+    public Object saveState() {
+        return colCounts == null ? null : colCounts.clone();
+    }
 
-        HashMap<Character, Integer> countMap = colCountMap.get(c);
-        countMap.put(symbol, countMap.get(symbol)-1);
+    @Override
+    public void restoreState(Object state) {
+        colCounts = state == null ? null : ((int[]) state).clone();
     }
 }
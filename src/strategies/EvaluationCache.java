@@ -0,0 +1,261 @@
+package strategies;
+
+import java.util.Arrays;
+
+// Bounded, thread-safe cache of position evaluations that any number of bots and games can
+// share, so a position reached in many games is only evaluated once. An entry is keyed by
+// the position's Zobrist hash (Game.getZobristKey() / SearchBoard.getKey()), the board
+// dimension and the side to move, and holds one packed long chosen by the caller (the
+// HARD bot stores TranspositionTable.pack(...) entries). 0 means "no entry".
+//
+// The cache is split into stripes, each with its own lock and its own least recently used
+// eviction, so threads working on different positions rarely wait for each other. A stripe
+// is a fixed set of primitive arrays (hash chains plus an LRU list), so the cache never
+// grows or allocates after construction.
+public class EvaluationCache {
+    private static final int STRIPES = 64;
+    private static final int DEFAULT_CAPACITY = 1 << 20;
+    private static final EvaluationCache SHARED =
+            new EvaluationCache(Integer.getInteger("tictactoe.evaluationCache.capacity", DEFAULT_CAPACITY));
+
+    private final Stripe[] stripes;
+
+    // Creates a cache holding at most (about) capacity entries, 40 bytes each.
+    public EvaluationCache(int capacity) {
+        if (capacity < STRIPES) {
+            throw new IllegalArgumentException("Capacity should be at least " + STRIPES);
+        }
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity / STRIPES);
+        }
+    }
+
+    // The process-wide cache. Its capacity is read once from the system property
+    // tictactoe.evaluationCache.capacity (default 2^20 entries, 40 MB).
+    public static EvaluationCache getShared() {
+        return SHARED;
+    }
+
+    // Returns the value stored for the position, or 0 if there is none.
+    public long get(long hash, int dimension, int sideToMove) {
+        long key = mix(hash, dimension, sideToMove);
+        Stripe stripe = stripes[(int) (key >>> 58)];
+        synchronized (stripe) {
+            return stripe.get(hash, meta(dimension, sideToMove), key);
+        }
+    }
+
+    // Stores a value (not 0) for the position, evicting the least recently used entry of
+    // the stripe when it is full.
+    public void put(long hash, int dimension, int sideToMove, long value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("0 is reserved for missing entries");
+        }
+        long key = mix(hash, dimension, sideToMove);
+        Stripe stripe = stripes[(int) (key >>> 58)];
+        synchronized (stripe) {
+            stripe.put(hash, meta(dimension, sideToMove), key, value);
+        }
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    public int capacity() {
+        return stripes.length * stripes[0].capacity;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    // Counters since the cache was created (or last cleared), to size it against the heap.
+    public long getHits() {
+        long hits = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                hits += stripe.hits;
+            }
+        }
+        return hits;
+    }
+
+    public long getMisses() {
+        long misses = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                misses += stripe.misses;
+            }
+        }
+        return misses;
+    }
+
+    public long getEvictions() {
+        long evictions = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                evictions += stripe.evictions;
+            }
+        }
+        return evictions;
+    }
+
+    private static int meta(int dimension, int sideToMove) {
+        return dimension << 8 | sideToMove;
+    }
+
+    // Spreads the full key over all bits: the top bits pick the stripe, the low bits the chain.
+    private static long mix(long hash, int dimension, int sideToMove) {
+        long z = hash + meta(dimension, sideToMove) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // One stripe: entries live in slots 0..capacity-1, chained from buckets by hash and
+    // linked from most (head) to least (tail) recently used.
+    private static final class Stripe {
+        private static final int NONE = -1;
+
+        private final int capacity;
+        private final long[] hashes;
+        private final int[] metas;
+        private final long[] values;
+        private final int[] buckets;
+        private final int[] chainNext;
+        private final int[] newer;
+        private final int[] older;
+        private final int bucketMask;
+        private int head = NONE;
+        private int tail = NONE;
+        private int size;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            this.hashes = new long[capacity];
+            this.metas = new int[capacity];
+            this.values = new long[capacity];
+            this.chainNext = new int[capacity];
+            this.newer = new int[capacity];
+            this.older = new int[capacity];
+            int bucketCount = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            this.buckets = new int[bucketCount];
+            this.bucketMask = bucketCount - 1;
+            clear();
+        }
+
+        long get(long hash, int meta, long key) {
+            int slot = find(hash, meta, key);
+            if (slot == NONE) {
+                misses++;
+                return 0;
+            }
+            hits++;
+            moveToHead(slot);
+            return values[slot];
+        }
+
+        void put(long hash, int meta, long key, long value) {
+            int slot = find(hash, meta, key);
+            if (slot == NONE) {
+                if (size < capacity) {
+                    slot = size++;
+                } else {
+                    slot = tail;
+                    unlink(slot);
+                    removeFromChain(slot);
+                    evictions++;
+                }
+                hashes[slot] = hash;
+                metas[slot] = meta;
+                int bucket = (int) key & bucketMask;
+                chainNext[slot] = buckets[bucket];
+                buckets[bucket] = slot;
+            } else {
+                unlink(slot);
+            }
+            values[slot] = value;
+            linkAtHead(slot);
+        }
+
+        void clear() {
+            Arrays.fill(buckets, NONE);
+            head = NONE;
+            tail = NONE;
+            size = 0;
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+
+        private int find(long hash, int meta, long key) {
+            for (int slot = buckets[(int) key & bucketMask]; slot != NONE; slot = chainNext[slot]) {
+                if (hashes[slot] == hash && metas[slot] == meta) {
+                    return slot;
+                }
+            }
+            return NONE;
+        }
+
+        private void removeFromChain(int slot) {
+            int bucket = (int) mix(hashes[slot], metas[slot] >>> 8, metas[slot] & 0xFF) & bucketMask;
+            if (buckets[bucket] == slot) {
+                buckets[bucket] = chainNext[slot];
+                return;
+            }
+            for (int s = buckets[bucket]; s != NONE; s = chainNext[s]) {
+                if (chainNext[s] == slot) {
+                    chainNext[s] = chainNext[slot];
+                    return;
+                }
+            }
+        }
+
+        private void moveToHead(int slot) {
+            if (slot != head) {
+                unlink(slot);
+                linkAtHead(slot);
+            }
+        }
+
+        private void linkAtHead(int slot) {
+            newer[slot] = NONE;
+            older[slot] = head;
+            if (head != NONE) {
+                newer[head] = slot;
+            }
+            head = slot;
+            if (tail == NONE) {
+                tail = slot;
+            }
+        }
+
+        private void unlink(int slot) {
+            if (newer[slot] != NONE) {
+                older[newer[slot]] = older[slot];
+            } else {
+                head = older[slot];
+            }
+            if (older[slot] != NONE) {
+                newer[older[slot]] = newer[slot];
+            } else {
+                tail = newer[slot];
+            }
+        }
+    }
+}
@@ -1,11 +1,564 @@
-//package strategies;
+package strategies;
+
+import models.Board;
+import models.BoardSymmetry;
+import models.Cell;
+import models.Zobrist;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Bot searches the game tree and plays the best cell it can find within its time budget.
 //
-//import models.Cell;
-//import models.Game;
+// The search is iterative deepening negamax with alpha-beta pruning. With more than two
+// players it searches "paranoid": the bot against a coalition of all other players, so
+// the score only changes sign when the turn passes between the bot and an opponent.
+// Positions are cached in a Zobrist keyed TranspositionTable, and moves are ordered by
+// the table's best move first, then by the history heuristic and closeness to the center.
 //
-//public class HardBotPlayingStrategy implements BotPlayingStrategy{
-//    @Override
-//    public Cell makeMove(Game game) {
-//        return null;
-//    }
-//}
+// With more than one thread the search is Lazy SMP: every thread runs the same iterative
+// deepening on its own copy of the position, and they only share the lock-free
+// transposition table. Helper threads start at alternating depths and order moves slightly
+// differently, so each one fills in table entries the others can cut off with. The move of
+// the thread that completed the deepest iteration is played.
+//
+// Optionally the root result is also kept in an EvaluationCache shared with other bots, so
+// a position some bot already searched deep enough (or a rotation or reflection of it, when
+// the winning lines are symmetric) is answered without searching again.
+//
+// The bot plays for the winning lines of the game (Board.getWinningLines()). Games with
+// different lines can share one instance: the lines' key is part of every table key.
+//
+// One instance can serve any number of bots and games at once: everything a move changes
+// (searchers, move buffers, history and the stop flag) lives in a Search that the move
+// borrows from a small pool owned by the strategy and returns when it is done. Only the
+// settings, the transposition table and the helper threads are shared. With 3+ players the
+// paranoid scores depend on which player the bot is, so that player is part of the table key.
+public class HardBotPlayingStrategy implements BotPlayingStrategy {
+    private static final int WIN = 1 << 20;
+    private static final int MATE_BOUND = WIN - 10_000;
+    private static final int INFINITY = WIN + 1;
+    // Idle Searches kept for the next moves, more are dropped (see returnSearch).
+    private static final int MAX_IDLE_SEARCHES = Runtime.getRuntime().availableProcessors();
+
+    private final long timeBudgetNanos;
+    private final int maxDepth;
+    private final int threads;
+    private final TranspositionTable table;
+    private final Search[] idleSearches = new Search[MAX_IDLE_SEARCHES];
+    private int idleCount;
+    private ExecutorService helperPool;
+    private volatile EvaluationCache evaluationCache;
+
+    // Statistics of the last move.
+    private volatile long lastNodesSearched;
+    private volatile double lastTableHitRate;
+    private volatile int lastDepth;
+
+    public HardBotPlayingStrategy() {
+        this(1000, 64, 18);
+    }
+
+    // timeBudgetMillis -> time allowed per move, maxDepth -> deepest iteration,
+    // tableSizeBits -> the transposition table holds 2^tableSizeBits entries.
+    public HardBotPlayingStrategy(long timeBudgetMillis, int maxDepth, int tableSizeBits) {
+        this(timeBudgetMillis, maxDepth, tableSizeBits, 1);
+    }
+
+    // Same as above, searching with the given number of threads. The calling thread is one
+    // of them; the others are daemon threads owned by this strategy, started on first use
+    // (and shared by all callers, so concurrent moves queue for them).
+    public HardBotPlayingStrategy(long timeBudgetMillis, int maxDepth, int tableSizeBits, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count should be at least 1");
+        }
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxDepth = maxDepth;
+        this.threads = threads;
+        this.table = new TranspositionTable(tableSizeBits);
+    }
+
+    // The state of one move in progress.
+    private final class Search {
+        private final Searcher[] searchers = new Searcher[threads];
+        private final Future<?>[] helpers = new Future<?>[threads - 1];
+        private long searchStart;
+        // Set when the main thread is done, tells the helper threads to stop.
+        private volatile boolean stopped;
+
+        Search() {
+            for (int i = 0; i < threads; i++) {
+                searchers[i] = new Searcher(this, i);
+            }
+        }
+    }
+
+    @Override
+    public Cell makeMove(Board board) {
+        Search search = borrowSearch();
+        try {
+            return makeMove(search, board);
+        } finally {
+            returnSearch(search);
+        }
+    }
+
+    // An idle Search, or a new one if all are in use. The last one returned is handed out
+    // first, so a game played from one thread keeps finding its own history scores.
+    private synchronized Search borrowSearch() {
+        if (idleCount == 0) {
+            return new Search();
+        }
+        Search search = idleSearches[--idleCount];
+        idleSearches[idleCount] = null;
+        return search;
+    }
+
+    // Keeps the Search for the next move. Searches made for a burst of concurrent moves
+    // beyond MAX_IDLE_SEARCHES are left to the garbage collector.
+    private synchronized void returnSearch(Search search) {
+        if (idleCount < idleSearches.length) {
+            idleSearches[idleCount++] = search;
+        }
+    }
+
+    private Cell makeMove(Search search, Board board) {
+        Searcher[] searchers = search.searchers;
+        search.searchStart = System.nanoTime();
+        search.stopped = false;
+        for (Searcher searcher : searchers) {
+            searcher.prepare(board);
+        }
+        Searcher main = searchers[0];
+        if (main.position.getEmptyCount() == 0) {
+            return null;
+        }
+        int dimension = main.position.getDimension();
+
+        // The cache is keyed by the canonical form of the position, so a result found for
+        // any rotation or reflection of it is reused (moves are mapped to and from that form).
+        // Rotations and reflections only give the same result if they keep the winning lines.
+        int side = main.position.getSideToMove();
+        WinningLines lines = main.position.getWinningLines();
+        EvaluationCache evaluationCache = this.evaluationCache;
+        BoardSymmetry symmetry = evaluationCache == null || !lines.isSymmetric() ? null : board.getSymmetry();
+        long key = (symmetry == null ? board.getZobristKey() : symmetry.getCanonicalKey()) ^ lines.getKey();
+        int transform = symmetry == null ? 0 : symmetry.getCanonicalTransform();
+        long cached = evaluationCache == null ? 0 : evaluationCache.get(key, dimension, side);
+        int cachedMove = cached == 0 ? -1 : TranspositionTable.move(cached);
+        if (cachedMove >= 0 && symmetry != null) {
+            cachedMove = symmetry.fromCanonical(transform, cachedMove);
+        }
+        // A colliding entry could name a taken cell, which is never played.
+        if (cachedMove >= 0 && main.position.isEmpty(cachedMove)) {
+            // A result as deep as this search would go, or already decided, is played as is.
+            // A shallower one saves the iterations up to its depth.
+            int move = cachedMove;
+            if (TranspositionTable.depth(cached) >= Math.min(maxDepth, main.position.getEmptyCount())
+                    || Math.abs(TranspositionTable.score(cached)) >= MATE_BOUND) {
+                lastNodesSearched = 0;
+                lastTableHitRate = 0;
+                lastDepth = TranspositionTable.depth(cached);
+                return board.getCell(move / dimension, move % dimension);
+            }
+            for (Searcher searcher : searchers) {
+                searcher.startFrom(move, TranspositionTable.depth(cached), TranspositionTable.score(cached));
+            }
+        }
+
+        for (int i = 1; i < searchers.length; i++) {
+            search.helpers[i - 1] = helperPool().submit(searchers[i]::search);
+        }
+        main.search();
+        search.stopped = true;
+        for (Future<?> helper : search.helpers) {
+            waitFor(helper);
+        }
+
+        // Play the move of the deepest completed iteration (the main thread on a tie).
+        Searcher best = main;
+        long nodes = 0;
+        long probes = 0;
+        long hits = 0;
+        for (Searcher searcher : searchers) {
+            if (searcher.completedDepth > best.completedDepth) {
+                best = searcher;
+            }
+            nodes += searcher.nodes;
+            probes += searcher.tableProbes;
+            hits += searcher.tableHits;
+        }
+
+        lastNodesSearched = nodes;
+        lastTableHitRate = probes == 0 ? 0 : (double) hits / probes;
+        lastDepth = best.completedDepth;
+
+        if (evaluationCache != null && best.completedDepth > 0) {
+            int move = symmetry == null ? best.resultMove : symmetry.toCanonical(transform, best.resultMove);
+            evaluationCache.put(key, dimension, side, TranspositionTable.pack(move,
+                    best.completedDepth, TranspositionTable.EXACT, best.rootScore));
+        }
+        return board.getCell(best.resultMove / dimension, best.resultMove % dimension);
+    }
+
+    private synchronized ExecutorService helperPool() {
+        if (helperPool == null) {
+            helperPool = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, "hard-bot-search");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return helperPool;
+    }
+
+    private static void waitFor(Future<?> helper) {
+        try {
+            helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed", e.getCause());
+        }
+    }
+
+    // One search thread: its own position, move buffers and history, sharing only the
+    // transposition table (and the stop flag) with the other threads.
+    private class Searcher {
+        private final Search owner;
+        private final int id;
+        private SearchBoard position;
+        private int[][] moveBuffers;
+        private int[][] scoreBuffers;
+        private int[] history;
+        private int[] centerBonus;
+        private int rootPlayer;
+        private long rootKey;       // mixed into the table keys, see search()
+        private int rootScore;
+        private boolean aborted;
+        private long nodes;
+        private long tableProbes;
+        private long tableHits;
+        // Result of the deepest completed iteration.
+        private int resultMove;
+        private int completedDepth;
+
+        Searcher(Search owner, int id) {
+            this.owner = owner;
+            this.id = id;
+        }
+
+        // Continues from a result found earlier (by any bot) instead of from depth 1.
+        void startFrom(int move, int depth, int score) {
+            resultMove = move;
+            completedDepth = depth;
+            rootScore = score;
+        }
+
+        void search() {
+            rootPlayer = position.getSideToMove();
+            // With two players the scores are the same whichever of them the bot is. With
+            // more, the coalition is everyone but the bot, so entries of bots in other seats
+            // sharing this table must not be mixed up: the bot's seat is added to the key as
+            // a piece on a cell past the end of the board. So are the winning lines, which
+            // decide every score.
+            int cellCount = position.getDimension() * position.getDimension();
+            rootKey = position.getWinningLines().getKey()
+                    ^ (position.getPlayerCount() > 2 ? Zobrist.pieceKey(cellCount, rootPlayer) : 0);
+            aborted = false;
+            nodes = 0;
+            tableProbes = 0;
+            tableHits = 0;
+
+            int depthLimit = Math.min(maxDepth, position.getEmptyCount());
+            // Odd helpers start one ply deeper, so the threads are not all on the same iteration.
+            for (int depth = completedDepth + 1 + id % 2; depth <= depthLimit; depth++) {
+                int move = searchRoot(depth);
+                if (aborted) {
+                    break;
+                }
+                resultMove = move;
+                completedDepth = depth;
+                if (Math.abs(rootScore) >= MATE_BOUND) {
+                    break;  // Forced result found, deeper search will not change it.
+                }
+            }
+        }
+
+        private int searchRoot(int depth) {
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            int bestMove = -1;
+            int bestScore = -INFINITY;
+
+            long entry = table.probe(position.getKey() ^ rootKey);
+            int tableMove = entry == 0 ? -1 : TranspositionTable.move(entry);
+            int count = generateMoves(0, tableMove);
+
+            for (int i = 0; i < count; i++) {
+                int cell = pickNext(0, i, count);
+                int score = scoreMove(cell, depth, alpha, beta, 0);
+                if (aborted) {
+                    return bestMove;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = cell;
+                }
+                alpha = Math.max(alpha, score);
+            }
+
+            rootScore = bestScore;
+            table.store(position.getKey() ^ rootKey, bestMove, depth, TranspositionTable.EXACT, bestScore);
+            return bestMove;
+        }
+
+        // Plays the cell, scores the resulting position from the mover's point of view and
+        // takes the move back.
+        private int scoreMove(int cell, int depth, int alpha, int beta, int ply) {
+            int mover = position.getSideToMove();
+            int score;
+            if (position.play(cell)) {
+                score = WIN - ply;
+            } else if (position.getEmptyCount() == 0) {
+                score = 0;
+            } else if (sameTeam(mover, position.getSideToMove())) {
+                score = negamax(depth - 1, alpha, beta, ply + 1);
+            } else {
+                score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            }
+            position.undo(cell);
+            return score;
+        }
+
+        private int negamax(int depth, int alpha, int beta, int ply) {
+            nodes++;
+            if ((nodes & 1023) == 0 && (owner.stopped || System.nanoTime() - owner.searchStart > timeBudgetNanos)) {
+                aborted = true;
+            }
+            if (aborted) {
+                return 0;
+            }
+
+            long key = position.getKey() ^ rootKey;
+            int alphaOrig = alpha;
+            int tableMove = -1;
+            tableProbes++;
+            long entry = table.probe(key);
+            if (entry != 0) {
+                tableHits++;
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT) {
+                        return score;
+                    } else if (bound == TranspositionTable.LOWER_BOUND) {
+                        alpha = Math.max(alpha, score);
+                    } else {
+                        beta = Math.min(beta, score);
+                    }
+                    if (alpha >= beta) {
+                        return score;
+                    }
+                }
+            }
+
+            if (depth == 0) {
+                return evaluate();
+            }
+
+            int count = generateMoves(ply, tableMove);
+            int bestScore = -INFINITY;
+            int bestMove = -1;
+            for (int i = 0; i < count; i++) {
+                int cell = pickNext(ply, i, count);
+                int score = scoreMove(cell, depth, alpha, beta, ply);
+                if (aborted) {
+                    return 0;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = cell;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                }
+                if (alpha >= beta) {
+                    history[cell] += depth * depth;
+                    break;
+                }
+            }
+
+            int bound = bestScore <= alphaOrig ? TranspositionTable.UPPER_BOUND
+                    : bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                    : TranspositionTable.EXACT;
+            table.store(key, bestMove, depth, bound, toTable(bestScore, ply));
+            return bestScore;
+        }
+
+        // Static evaluation from the point of view of the side to move. A winning line held
+        // by a single player is still winnable for that player and is worth count^2.
+        private int evaluate() {
+            int lineCount = position.getWinningLines().getLineCount();
+            int players = position.getPlayerCount();
+            int me = position.getSideToMove();
+            int score = 0;
+            for (int line = 0; line < lineCount; line++) {
+                score += lineValue(line, players, me);
+            }
+            return score;
+        }
+
+        private int lineValue(int line, int players, int me) {
+            int owner = -1;
+            int count = 0;
+            for (int p = 0; p < players; p++) {
+                int c = position.getLineCount(line, p);
+                if (c == 0) {
+                    continue;
+                }
+                if (owner >= 0) {
+                    return 0;  // Two players in the same line, nobody can complete it.
+                }
+                owner = p;
+                count = c;
+            }
+            if (owner < 0) {
+                return 0;
+            }
+            return sameTeam(owner, me) ? count * count : -count * count;
+        }
+
+        // Fills the move buffer of the ply with all empty cells and their ordering scores.
+        private int generateMoves(int ply, int tableMove) {
+            int[] moves = moveBuffers[ply];
+            int[] scores = scoreBuffers[ply];
+            int count = 0;
+            int cellCount = position.getDimension() * position.getDimension();
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (position.isEmpty(cell)) {
+                    moves[count] = cell;
+                    scores[count] = cell == tableMove ? Integer.MAX_VALUE
+                            : history[cell] + centerBonus[cell] + orderingNoise(cell);
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // Selection sort step: moves the best remaining move to index i and returns it.
+        private int pickNext(int ply, int i, int count) {
+            int[] moves = moveBuffers[ply];
+            int[] scores = scoreBuffers[ply];
+            int best = i;
+            for (int j = i + 1; j < count; j++) {
+                if (scores[j] > scores[best]) {
+                    best = j;
+                }
+            }
+            int move = moves[best];
+            moves[best] = moves[i];
+            moves[i] = move;
+            int score = scores[best];
+            scores[best] = scores[i];
+            scores[i] = score;
+            return move;
+        }
+
+        // Helper threads break ties between equally ordered moves differently from the main
+        // thread, so they spread over different parts of the tree instead of repeating it.
+        private int orderingNoise(int cell) {
+            return id == 0 ? 0 : ((cell + 1) * 0x9E3779B1 + id * 0x85EBCA6B) >>> 30;
+        }
+
+        private boolean sameTeam(int player, int other) {
+            return (player == rootPlayer) == (other == rootPlayer);
+        }
+
+        private int firstEmptyCell() {
+            int cellCount = position.getDimension() * position.getDimension();
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (position.isEmpty(cell)) {
+                    return cell;
+                }
+            }
+            return -1;
+        }
+
+        // Loads the board into the search position, allocating buffers when the size or the
+        // winning lines change.
+        private void prepare(Board board) {
+            int dimension = board.getDimension();
+            int players = board.getPlayers().size();
+            WinningLines lines = SearchBoard.linesOf(board);
+            if (position == null || position.getDimension() != dimension || position.getPlayerCount() != players
+                    || position.getWinningLines() != lines) {
+                position = new SearchBoard(dimension, players, lines);
+                int cellCount = dimension * dimension;
+                int plies = Math.min(maxDepth, cellCount) + 1;
+                moveBuffers = new int[plies][cellCount];
+                scoreBuffers = new int[plies][cellCount];
+                history = new int[cellCount];
+                centerBonus = new int[cellCount];
+                for (int cell = 0; cell < cellCount; cell++) {
+                    int r = cell / dimension;
+                    int c = cell % dimension;
+                    centerBonus[cell] = -(Math.abs(2 * r - (dimension - 1)) + Math.abs(2 * c - (dimension - 1)));
+                }
+            }
+            position.load(board);
+            // Fallback in case not even the first iteration completes in time.
+            resultMove = firstEmptyCell();
+            completedDepth = 0;
+            // Halve the history scores so older searches fade out.
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    // Mate scores are stored relative to the node, so they stay valid at any ply.
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        } else if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        } else if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    // Shares root results with other bots through the given cache (null to stop sharing).
+    public void setEvaluationCache(EvaluationCache evaluationCache) {
+        this.evaluationCache = evaluationCache;
+    }
+
+    public EvaluationCache getEvaluationCache() {
+        return evaluationCache;
+    }
+
+    // Statistics of the last move made with this strategy (with concurrent games, of the
+    // move that finished last).
+    public long getLastNodesSearched() {
+        return lastNodesSearched;
+    }
+
+    public double getLastTableHitRate() {
+        return lastTableHitRate;
+    }
+
+    public int getLastDepth() {
+        return lastDepth;
+    }
+}
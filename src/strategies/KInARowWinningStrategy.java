@@ -0,0 +1,67 @@
+package strategies;
+
+import models.Board;
+import models.Move;
+import models.Player;
+
+// Gomoku style winning strategy: a player wins with K of their symbols in a row,
+// horizontally, vertically or on either diagonal (e.g. K = 5 on a 15x15 or 19x19 board).
+//
+// Only the lines through the last move can have changed, so checkWinner walks at most
+// K - 1 cells in each direction from the move: O(K) per move, the board is never scanned.
+// The strategy keeps no counters of its own (it reads the board), so handleUndo has
+// nothing to revert once Game.undo has cleared the cell.
+public class KInARowWinningStrategy implements WinningStrategy {
+    // Directions as {rowStep, colStep}: horizontal, vertical, diagonal, anti diagonal.
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int k;
+
+    public KInARowWinningStrategy(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K should be at least 1");
+        }
+        this.k = k;
+    }
+
+    @Override
+    public boolean checkWinner(Board board, Move move) {
+        int r = move.getCell().getRow();
+        int c = move.getCell().getCol();
+        Player player = move.getPlayer();
+
+        for (int[] direction : DIRECTIONS) {
+            // The move itself plus the run on both sides of it.
+            int count = 1
+                    + countRun(board, r, c, direction[0], direction[1], player)
+                    + countRun(board, r, c, -direction[0], -direction[1], player);
+            if (count >= k) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void handleUndo(Move move) {
+        // Nothing to do, the strategy has no state besides the board itself.
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    // Counts the player's consecutive cells starting next to (r, c) in the given direction,
+    // stopping after K - 1 cells since a longer run does not change the result.
+    private int countRun(Board board, int r, int c, int rowStep, int colStep, Player player) {
+        int count = 0;
+        int row = r + rowStep;
+        int col = c + colStep;
+        while (count < k - 1 && board.isWithinBounds(row, col) && board.getPlayerAt(row, col) == player) {
+            count++;
+            row += rowStep;
+            col += colStep;
+        }
+        return count;
+    }
+}
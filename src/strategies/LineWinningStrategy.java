@@ -0,0 +1,74 @@
+package strategies;
+
+import models.Board;
+import models.Move;
+
+// Winning strategy covering rows, columns and both diagonals with primitive counters.
+// counts[line][playerIndex] (the player's seat, Move.getPlayerIndex()) holds how many cells of the line the player owns, where
+// line = row for rows, dimension + col for columns, 2 * dimension for the main diagonal
+// and 2 * dimension + 1 for the anti diagonal. A player wins when a counter reaches the
+// dimension. Both checkWinner and handleUndo touch at most four counters: O(1) and no
+// allocation once the counters exist.
+public class LineWinningStrategy implements WinningStrategy {
+    private int dimension;
+    private int[][] counts;
+
+    @Override
+    public boolean checkWinner(Board board, Move move) {
+        // Counters are sized on the first move, when the board and its players are known.
+        if (counts == null) {
+            dimension = board.getDimension();
+            counts = new int[2 * dimension + 2][board.getPlayers().size()];
+        }
+
+        int r = move.getCell().getRow();
+        int c = move.getCell().getCol();
+        int p = move.getPlayerIndex();
+
+        boolean won = ++counts[r][p] == dimension;
+        won |= ++counts[dimension + c][p] == dimension;
+        if (r == c) {
+            won |= ++counts[2 * dimension][p] == dimension;
+        }
+        if (r + c == dimension - 1) {
+            won |= ++counts[2 * dimension + 1][p] == dimension;
+        }
+        return won;
+    }
+
+    @Override
+    public void handleUndo(Move move) {
+        int r = move.getCell().getRow();
+        int c = move.getCell().getCol();
+        int p = move.getPlayerIndex();
+
+        counts[r][p]--;
+        counts[dimension + c][p]--;
+        if (r == c) {
+            counts[2 * dimension][p]--;
+        }
+        if (r + c == dimension - 1) {
+            counts[2 * dimension + 1][p]--;
+        }
+    }
+
+    @Override
+    public Object saveState() {
+        return counts == null ? null : copy(counts);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        // Copied again, so the same saved state can be restored more than once. null is
+        // the state before the first move (counters not sized yet).
+        counts = state == null ? null : copy((int[][]) state);
+    }
+
+    private static int[][] copy(int[][] counts) {
+        int[][] copy = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            copy[i] = counts[i].clone();
+        }
+        return copy;
+    }
+}
@@ -2,27 +2,36 @@ package strategies;
 
 import models.Board;
 import models.Cell;
-import models.CellState;
+import models.FreeCellIndex;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class MediumBotPlayingStrategy implements BotPlayingStrategy {
+    // null -> ThreadLocalRandom, so one instance can be shared by bots on any number of
+    // threads without them contending on a single seed.
+    private final Random random;
 
-    // Bot places its move at a random and empty cell on the board.
-    @Override
-    public Cell makeMove(Board board) {
-        Random random = new Random();
+    public MediumBotPlayingStrategy() {
+        this(null);
+    }
 
-        // Loop until a valid (empty) cell is found.
-        while (true) {
-            int randomRow = random.nextInt(board.getDimension());  // Generate a random row index within the board dimensions.
-            int randomCol = random.nextInt(board.getDimension());  // Generate a random column index within the board dimensions.
-            // System.out.println("randomRow: " + randomRow + ", randomCol: " + randomCol);
+    // Lets simulations pass a seeded Random so games can be reproduced.
+    public MediumBotPlayingStrategy(Random random) {
+        this.random = random;
+    }
 
-            // Check if the randomly selected cell is empty.
-            if (board.getGrid().get(randomRow).get(randomCol).getCellState().equals(CellState.EMPTY)) {
-                return board.getGrid().get(randomRow).get(randomCol);  // Return the empty cell where the bot will place its move.
-            }
+    // Bot places its move at a random and empty cell on the board. Every empty cell is
+    // equally likely, and the pick is O(1) however full the board is: it is drawn from the
+    // board's index of free cells instead of retrying random cells until one is empty.
+    @Override
+    public Cell makeMove(Board board) {
+        FreeCellIndex freeCells = board.getFreeCells();
+        if (freeCells.size() == 0) {
+            return null;  // Board is full, there is no move to make.
         }
+        Random random = this.random != null ? this.random : ThreadLocalRandom.current();
+        int cell = freeCells.get(random.nextInt(freeCells.size()));
+        return board.getCell(cell / board.getDimension(), cell % board.getDimension());
     }
 }
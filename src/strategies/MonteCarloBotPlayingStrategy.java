@@ -0,0 +1,629 @@
+package strategies;
+
+import models.Board;
+import models.Cell;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bot plays the cell chosen by Monte Carlo tree search (UCT). Instead of searching every
+// reply like the HARD bot, it plays many random games (playouts) from the current position
+// and grows a tree towards the moves that won most often, which scales to large boards and
+// to 3+ players where a full width search gets nowhere.
+//
+// Every tree node keeps the reward of the player who made the move leading to it (1 for a
+// win, 1/players for a draw, 0 for a loss), so each player picks the child that is best for
+// itself and any number of players is handled without the "paranoid" coalition of HARD.
+// Playouts run on a SearchBoard, the same primitive copy the HARD bot uses, so they are won
+// by the same winning lines as the game (rows, columns, diagonals or K in a row).
+//
+// Nodes live in a NodePool, a fixed set of primitive arrays where the children of a node
+// are one contiguous block, so growing the tree never allocates. After a move the subtree
+// of the position actually reached (our move plus the replies of the other players) is
+// copied into the second pool and the search continues from it: the playouts of the
+// previous move are not thrown away. By default the pools are sized from the board (see
+// defaultNodePoolCapacity), a few MB at most; once full, the leaves stop growing and the
+// playouts go on from them.
+//
+// With more than one thread all of them walk the same tree. A thread counts its visit on
+// every node it passes before its playout ends, and only adds the reward afterwards, so
+// until then the visit counts as a loss ("virtual loss") and the other threads prefer
+// different branches instead of all running down the same path.
+//
+// One instance can serve any number of bots and games at once. The tree and the workers
+// belong to a Search that a move borrows from a small pool owned by the strategy, so the
+// node pools cost memory per move in progress, not per bot or per thread. A Search that
+// last served another game just starts a new tree (the old root is not found).
+public class MonteCarloBotPlayingStrategy implements BotPlayingStrategy {
+    // Exploration constant of UCT, sqrt(2) for rewards between 0 and 1.
+    private static final double EXPLORATION = Math.sqrt(2);
+    // A leaf is expanded on its second visit, so single playouts do not fill the pool.
+    private static final int EXPAND_AFTER_VISITS = 1;
+    // Default pool size: enough nodes per cell for a few levels of a wide tree, capped at
+    // 2^16 nodes (64 bytes each counting both pools, so 4 MB per Search).
+    private static final int NODES_PER_CELL = 2048;
+    private static final int MAX_DEFAULT_NODES = 1 << 16;
+    // Idle Searches kept for the next moves, more are dropped (see returnSearch).
+    private static final int MAX_IDLE_SEARCHES = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+    private final long timeBudgetNanos;
+    private final int playoutBudget;
+    private final int threads;
+    private final int nodePoolCapacity;
+    private final long seed;
+    private final AtomicInteger searchCount = new AtomicInteger();
+    private final Search[] idleSearches = new Search[MAX_IDLE_SEARCHES];
+    private int idleCount;
+    private ExecutorService helperPool;
+
+    // Statistics of the last move.
+    private volatile int lastPlayouts;
+    private volatile int lastReusedNodes;
+    private volatile int lastTreeSize;
+    private volatile double lastWinRate;
+
+    public MonteCarloBotPlayingStrategy() {
+        this(1000, 0, 1);
+    }
+
+    // timeBudgetMillis -> time allowed per move, playoutBudget -> playouts per move (0 for
+    // no limit, only the time), threads -> threads running playouts. The calling thread is
+    // one of them; the others are daemon threads owned by this strategy, started on first use
+    // (and shared by all callers, so concurrent moves queue for them).
+    public MonteCarloBotPlayingStrategy(long timeBudgetMillis, int playoutBudget, int threads) {
+        this(timeBudgetMillis, playoutBudget, threads, 0, System.nanoTime());
+    }
+
+    // Same as above, with a tree of at most 2^nodePoolBits nodes (32 bytes each, twice for
+    // the two pools, per Search; 0 -> sized from the board) and a seed for the
+    // playouts. Only a single threaded search with a playout budget and no time limit, made
+    // from one thread, gives the same moves on every run.
+    public MonteCarloBotPlayingStrategy(long timeBudgetMillis, int playoutBudget, int threads, int nodePoolBits,
+                                        long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count should be at least 1");
+        }
+        if (timeBudgetMillis <= 0 && playoutBudget <= 0) {
+            throw new IllegalArgumentException("Either a time or a playout budget is needed");
+        }
+        this.timeBudgetNanos = timeBudgetMillis <= 0 ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000L;
+        this.playoutBudget = playoutBudget <= 0 ? Integer.MAX_VALUE : playoutBudget;
+        this.threads = threads;
+        if (nodePoolBits < 0 || nodePoolBits > 30) {
+            throw new IllegalArgumentException("Node pool bits should be between 0 and 30");
+        }
+        this.nodePoolCapacity = nodePoolBits == 0 ? 0 : 1 << nodePoolBits;
+        this.seed = seed;
+    }
+
+    // The state of one move in progress: its tree and workers, and what the next move made
+    // with it needs to find its root again.
+    private final class Search {
+        private final Worker[] workers = new Worker[threads];
+        private final Future<?>[] helpers = new Future<?>[threads - 1];
+        // Created by the first move, sized for its board.
+        private NodePool tree;
+        private NodePool spare;
+        private final AtomicInteger playouts = new AtomicInteger();
+        private long searchStart;
+        // Set when the main thread is done, tells the helper threads to stop.
+        private volatile boolean stopped;
+
+        // Position of the current tree root, to find it again on the next move.
+        private int[] rootCells;
+        private WinningLines rootLines;
+        private int rootSide;
+        private int rootPlayerCount;
+
+        Search() {
+            // The first Search's workers get the seeds a single threaded search always had.
+            long first = (long) searchCount.getAndIncrement() * threads;
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Worker(this, seed + (first + i) * 0x9E3779B97F4A7C15L);
+            }
+        }
+    }
+
+    @Override
+    public Cell makeMove(Board board) {
+        Search search = borrowSearch();
+        try {
+            return makeMove(search, board);
+        } finally {
+            returnSearch(search);
+        }
+    }
+
+    // An idle Search, or a new one if all are in use. The last one returned is handed out
+    // first, so a game played from one thread keeps continuing its own tree.
+    private synchronized Search borrowSearch() {
+        if (idleCount == 0) {
+            return new Search();
+        }
+        Search search = idleSearches[--idleCount];
+        idleSearches[idleCount] = null;
+        return search;
+    }
+
+    // Keeps the Search (and its node pools) for the next move. Searches made for a burst of
+    // concurrent moves beyond MAX_IDLE_SEARCHES are left to the garbage collector.
+    private synchronized void returnSearch(Search search) {
+        if (idleCount < idleSearches.length) {
+            idleSearches[idleCount++] = search;
+        }
+    }
+
+    private Cell makeMove(Search search, Board board) {
+        int capacity = nodePoolCapacity > 0 ? nodePoolCapacity : defaultNodePoolCapacity(board.getDimension());
+        if (search.tree == null || search.tree.capacity != capacity) {
+            search.tree = new NodePool(capacity);
+            search.spare = new NodePool(capacity);
+            search.rootCells = null;   // nothing to continue from
+        }
+        Worker[] workers = search.workers;
+        search.searchStart = System.nanoTime();
+        search.stopped = false;
+        search.playouts.set(0);
+        for (Worker worker : workers) {
+            worker.prepare(board);
+        }
+        SearchBoard position = workers[0].position;
+        int dimension = position.getDimension();
+        if (position.getEmptyCount() == 0) {
+            return null;  // Board is full, there is no move to make.
+        }
+
+        // Continue with the subtree of this position if the last search got to it,
+        // otherwise start a new tree.
+        int reused = findRoot(search, position);
+        if (reused > 0) {
+            search.spare.copySubtree(search.tree, reused);
+            NodePool previous = search.tree;
+            search.tree = search.spare;
+            search.spare = previous;
+        } else {
+            search.tree.reset();
+        }
+        NodePool tree = search.tree;
+        int reusedNodes = reused > 0 ? tree.size() : 0;
+        rememberRoot(search, position);
+
+        for (int i = 1; i < workers.length; i++) {
+            search.helpers[i - 1] = helperPool().submit(workers[i]::search);
+        }
+        workers[0].search();
+        search.stopped = true;
+        for (Future<?> helper : search.helpers) {
+            waitFor(helper);
+        }
+
+        // Play the most visited move, it is the one the search is most sure about.
+        int best = -1;
+        int childCount = Math.max(tree.childCounts.get(NodePool.ROOT), 0);
+        int firstChild = tree.firstChild[NodePool.ROOT];
+        for (int child = firstChild; child < firstChild + childCount; child++) {
+            if (best < 0 || tree.visits.get(child) > tree.visits.get(best)) {
+                best = child;
+            }
+        }
+        int playouts = 0;
+        for (Worker worker : workers) {
+            playouts += worker.completed;
+        }
+        lastPlayouts = playouts;
+        lastReusedNodes = reusedNodes;
+        lastTreeSize = tree.size();
+        lastWinRate = best < 0 || tree.visits.get(best) == 0 ? 0
+                : (double) tree.rewards.get(best) / (tree.visits.get(best) * (long) position.getPlayerCount());
+
+        int move = best < 0 ? workers[0].firstEmptyCell() : tree.moves[best];
+        return board.getCell(move / dimension, move % dimension);
+    }
+
+    // Pool size for a board: NODES_PER_CELL nodes per cell, at most MAX_DEFAULT_NODES.
+    static int defaultNodePoolCapacity(int dimension) {
+        return (int) Math.min((long) dimension * dimension * NODES_PER_CELL, MAX_DEFAULT_NODES);
+    }
+
+    // Finds the node of the given position in the tree of the last search: the position
+    // must be the old root plus one move of each player in turn (at most a full round).
+    // Returns the node, or -1 if the tree does not lead to this position.
+    private int findRoot(Search search, SearchBoard position) {
+        int cellCount = position.getDimension() * position.getDimension();
+        int playerCount = position.getPlayerCount();
+        int[] rootCells = search.rootCells;
+        int rootSide = search.rootSide;
+        NodePool tree = search.tree;
+        if (rootCells == null || rootCells.length != cellCount || search.rootPlayerCount != playerCount
+                || search.rootLines != position.getWinningLines()) {
+            return -1;
+        }
+        int node = NodePool.ROOT;
+        int played = 0;
+        // New pieces are ordered by their player, starting with the side that was to move.
+        for (int turn = 0; turn < playerCount; turn++) {
+            int player = (rootSide + turn) % playerCount;
+            int cell = -1;
+            for (int c = 0; c < cellCount; c++) {
+                if (rootCells[c] == SearchBoard.EMPTY && position.getCell(c) == player) {
+                    if (cell >= 0) {
+                        return -1;  // Two new pieces of one player, not a single round.
+                    }
+                    cell = c;
+                }
+            }
+            if (cell < 0) {
+                break;
+            }
+            node = tree.findChild(node, cell);
+            if (node < 0) {
+                return -1;
+            }
+            played++;
+        }
+        // Every other cell must be unchanged (no undo, no new game in between).
+        int changed = 0;
+        for (int c = 0; c < cellCount; c++) {
+            if (rootCells[c] != position.getCell(c)) {
+                if (rootCells[c] != SearchBoard.EMPTY) {
+                    return -1;
+                }
+                changed++;
+            }
+        }
+        return played > 0 && changed == played ? node : -1;
+    }
+
+    private static void rememberRoot(Search search, SearchBoard position) {
+        int cellCount = position.getDimension() * position.getDimension();
+        if (search.rootCells == null || search.rootCells.length != cellCount) {
+            search.rootCells = new int[cellCount];
+        }
+        for (int c = 0; c < cellCount; c++) {
+            search.rootCells[c] = position.getCell(c);
+        }
+        search.rootSide = position.getSideToMove();
+        search.rootPlayerCount = position.getPlayerCount();
+        search.rootLines = position.getWinningLines();
+    }
+
+    private synchronized ExecutorService helperPool() {
+        if (helperPool == null) {
+            helperPool = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, "monte-carlo-playouts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return helperPool;
+    }
+
+    private static void waitFor(Future<?> helper) {
+        try {
+            helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Playout thread failed", e.getCause());
+        }
+    }
+
+    // The tree. Node i has moves[i] (the cell played to reach it), its visits, the summed
+    // rewards of the player who played that move (in 1/players units of a win), and its
+    // children, the block firstChild[i] .. firstChild[i] + childCounts[i] - 1.
+    //
+    // childCounts is 0 for a leaf, EXPANDING while one thread creates the children, FULL if
+    // the pool had no room for them, and the number of children once they exist. Setting
+    // it is what publishes the block to the other threads.
+    private static final class NodePool {
+        static final int ROOT = 0;
+        static final int EXPANDING = -1;
+        static final int FULL = -2;
+
+        final int capacity;
+        final int[] moves;
+        final int[] firstChild;
+        final AtomicIntegerArray childCounts;
+        final AtomicIntegerArray visits;
+        final AtomicLongArray rewards;
+        final AtomicInteger next = new AtomicInteger();
+        // Breadth first copy queue: [source node, node in this pool].
+        private final int[] copyFrom;
+        private final int[] copyTo;
+
+        NodePool(int capacity) {
+            this.capacity = capacity;
+            this.moves = new int[capacity];
+            this.firstChild = new int[capacity];
+            this.childCounts = new AtomicIntegerArray(capacity);
+            this.visits = new AtomicIntegerArray(capacity);
+            this.rewards = new AtomicLongArray(capacity);
+            this.copyFrom = new int[capacity];
+            this.copyTo = new int[capacity];
+            reset();
+        }
+
+        int size() {
+            return Math.min(next.get(), capacity);
+        }
+
+        // Empties the pool down to a fresh root.
+        void reset() {
+            next.set(1);
+            moves[ROOT] = -1;
+            clearNode(ROOT);
+        }
+
+        private void clearNode(int node) {
+            childCounts.set(node, 0);
+            visits.set(node, 0);
+            rewards.set(node, 0);
+        }
+
+        // Reserves a block of count nodes, or returns -1 when the pool has no room left.
+        int allocate(int count) {
+            int first = next.getAndAdd(count);
+            return first + count <= capacity ? first : -1;
+        }
+
+        int findChild(int node, int move) {
+            int count = childCounts.get(node);
+            for (int child = firstChild[node]; child < firstChild[node] + count; child++) {
+                if (moves[child] == move) {
+                    return child;
+                }
+            }
+            return -1;
+        }
+
+        // Replaces this pool with the subtree of node in the source pool, node becoming the
+        // root. Breadth first, so the children of every node stay one block. Single threaded.
+        void copySubtree(NodePool source, int node) {
+            next.set(1);
+            moves[ROOT] = -1;
+            int head = 0;
+            int tail = 0;
+            copyFrom[tail] = node;
+            copyTo[tail++] = ROOT;
+            while (head < tail) {
+                int from = copyFrom[head];
+                int to = copyTo[head++];
+                visits.set(to, source.visits.get(from));
+                rewards.set(to, source.rewards.get(from));
+                int count = Math.max(source.childCounts.get(from), 0);
+                int first = count == 0 ? -1 : allocate(count);
+                if (first < 0) {
+                    childCounts.set(to, 0);
+                    continue;
+                }
+                for (int i = 0; i < count; i++) {
+                    int child = source.firstChild[from] + i;
+                    moves[first + i] = source.moves[child];
+                    copyFrom[tail] = child;
+                    copyTo[tail++] = first + i;
+                }
+                firstChild[to] = first;
+                childCounts.set(to, count);
+            }
+        }
+    }
+
+    // One playout thread: its own copy of the position and buffers, sharing only the tree
+    // (and the stop flag) with the other threads.
+    private class Worker {
+        private final Search owner;
+        private SearchBoard position;
+        private int[] path;         // nodes from the root to the current leaf
+        private int[] played;       // cells played in this iteration, to take them back
+        private int playedCount;
+        private int completed;      // playouts of the current move
+        private int[] freeCells;    // empty cells left for the playout
+        private long random;
+
+        Worker(Search owner, long seed) {
+            this.owner = owner;
+            this.random = seed == 0 ? 1 : seed;
+        }
+
+        void search() {
+            NodePool tree = owner.tree;
+            int playerCount = position.getPlayerCount();
+            completed = 0;
+            while (!owner.stopped && owner.playouts.incrementAndGet() <= playoutBudget) {
+                iterate(tree, playerCount);
+                completed++;
+                if (System.nanoTime() - owner.searchStart >= timeBudgetNanos) {
+                    owner.stopped = true;
+                }
+            }
+        }
+
+        // Selection, expansion, playout and backpropagation of one playout.
+        private void iterate(NodePool tree, int playerCount) {
+            int node = NodePool.ROOT;
+            int depth = 0;
+            int winner = -1;
+            boolean finished = false;
+            playedCount = 0;
+            path[depth++] = node;
+            tree.visits.incrementAndGet(node);
+
+            while (true) {
+                int count = tree.childCounts.get(node);
+                if (count == 0 && tree.visits.get(node) > EXPAND_AFTER_VISITS) {
+                    count = expand(tree, node);
+                }
+                if (count <= 0) {
+                    break;
+                }
+                int child = select(tree, node, count);
+                // Counted now, rewarded after the playout: a virtual loss until then.
+                tree.visits.incrementAndGet(child);
+                path[depth++] = child;
+                int mover = position.getSideToMove();
+                if (play(tree.moves[child])) {
+                    winner = mover;
+                    finished = true;
+                    break;
+                }
+                if (position.getEmptyCount() == 0) {
+                    finished = true;
+                    break;
+                }
+                node = child;
+            }
+            if (!finished) {
+                winner = playout();
+            }
+
+            // Reward every node for the player who played its move, while the moves are
+            // still on the board to tell who that was.
+            for (int i = 1; i < depth; i++) {
+                int mover = position.getCell(tree.moves[path[i]]);
+                int reward = winner < 0 ? 1 : mover == winner ? playerCount : 0;
+                if (reward != 0) {
+                    tree.rewards.addAndGet(path[i], reward);
+                }
+            }
+            while (playedCount > 0) {
+                position.undo(played[--playedCount]);
+            }
+        }
+
+        private boolean play(int cell) {
+            played[playedCount++] = cell;
+            return position.play(cell);
+        }
+
+        // Plays random moves until someone wins or the board is full. Returns the winner,
+        // or -1 for a draw.
+        private int playout() {
+            int free = 0;
+            int cellCount = freeCells.length;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (position.isEmpty(cell)) {
+                    freeCells[free++] = cell;
+                }
+            }
+            while (free > 0) {
+                int i = nextInt(free);
+                int cell = freeCells[i];
+                freeCells[i] = freeCells[--free];
+                int mover = position.getSideToMove();
+                if (play(cell)) {
+                    return mover;
+                }
+            }
+            return -1;
+        }
+
+        // UCT: the child with the best average reward plus exploration bonus. Unvisited
+        // children come first, scanned from a random offset so threads spread over them.
+        private int select(NodePool tree, int node, int count) {
+            int first = tree.firstChild[node];
+            int offset = nextInt(count);
+            double logVisits = Math.log(Math.max(tree.visits.get(node), 1));
+            double scale = 1.0 / position.getPlayerCount();
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                int child = first + (offset + i) % count;
+                int visits = tree.visits.get(child);
+                if (visits == 0) {
+                    return child;
+                }
+                double value = tree.rewards.get(child) * scale / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        // Creates one child per empty cell. Returns the child count, or a value <= 0 if the
+        // node stays a leaf (another thread is expanding it, or the pool is full).
+        private int expand(NodePool tree, int node) {
+            if (!tree.childCounts.compareAndSet(node, 0, NodePool.EXPANDING)) {
+                return tree.childCounts.get(node);
+            }
+            int count = position.getEmptyCount();
+            int first = tree.allocate(count);
+            if (first < 0) {
+                tree.childCounts.set(node, NodePool.FULL);
+                return NodePool.FULL;
+            }
+            int child = first;
+            int cellCount = freeCells.length;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (position.isEmpty(cell)) {
+                    tree.moves[child] = cell;
+                    tree.clearNode(child);
+                    child++;
+                }
+            }
+            tree.firstChild[node] = first;
+            tree.childCounts.set(node, count);
+            return count;
+        }
+
+        // xorshift64*, cheap and allocation free; each thread has its own state.
+        private int nextInt(int bound) {
+            random ^= random >>> 12;
+            random ^= random << 25;
+            random ^= random >>> 27;
+            return (int) (((random * 0x2545F4914F6CDD1DL) >>> 33) * bound >>> 31);
+        }
+
+        private int firstEmptyCell() {
+            for (int cell = 0; cell < freeCells.length; cell++) {
+                if (position.isEmpty(cell)) {
+                    return cell;
+                }
+            }
+            return -1;
+        }
+
+        // Loads the board into the playout position, allocating buffers when the size or the
+        // winning lines change.
+        private void prepare(Board board) {
+            int dimension = board.getDimension();
+            int players = board.getPlayers().size();
+            WinningLines lines = SearchBoard.linesOf(board);
+            if (position == null || position.getDimension() != dimension || position.getPlayerCount() != players
+                    || position.getWinningLines() != lines) {
+                position = new SearchBoard(dimension, players, lines);
+                int cellCount = dimension * dimension;
+                path = new int[cellCount + 1];
+                played = new int[cellCount];
+                freeCells = new int[cellCount];
+            }
+            position.load(board);
+        }
+    }
+
+    // Statistics of the last move made with this strategy (with concurrent games, of the
+    // move that finished last).
+    public int getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    // Nodes carried over from the previous move's tree.
+    public int getLastReusedNodes() {
+        return lastReusedNodes;
+    }
+
+    public int getLastTreeSize() {
+        return lastTreeSize;
+    }
+
+    // Average reward of the played move, between 0 (always lost) and 1 (always won).
+    public double getLastWinRate() {
+        return lastWinRate;
+    }
+}
@@ -3,56 +3,48 @@ package strategies;
 import models.Board;
 import models.Move;
 
-import java.util.HashMap;
-
 public class RowWinningStrategy implements WinningStrategy {
 
-    // HashMap to keep track of symbol counts in each row.
-    // Key: Row index, Value: HashMap of symbol and its count in that row.
-    // HashMap<RowIndex, HashMap<Symbol, SymbolCount>>
-    HashMap<Integer, HashMap<Character, Integer>> rowCountMap;
-
-    public RowWinningStrategy() {
-        this.rowCountMap = new HashMap<>();  // Initialize the row count map.
-    }
+    // Keeps track of how many cells of each row every player owns.
+    // rowCounts[row * players + playerIndex] -> cells of the row owned by the player, where
+    // playerIndex is the player's seat (Move.getPlayerIndex()). A flat int array instead of
+    // a map, so counting a move neither boxes nor hashes.
+    private int[] rowCounts;
+    private int playerCount;
+    private int dimension;
 
     @Override
     public boolean checkWinner(Board board, Move move) {
+        // Counters are sized on the first move, when the board and its players are known.
+        if (rowCounts == null) {
+            dimension = board.getDimension();
+            playerCount = board.getPlayers().size();
+            rowCounts = new int[dimension * playerCount];
+        }
 
         // Get the row index of the cell where the move was made.
         int r = move.getCell().getRow();
 
-        // Get the symbol of the player who made the move.
-        Character symbol = move.getPlayer().getSymbol();
-
-        // If the row doesn't exist in the map, add it with an empty symbol count map.
-        rowCountMap.putIfAbsent(r, new HashMap<>());
-        // Retrieve the symbol count map for the specific row.
-        HashMap<Character, Integer> countMap = rowCountMap.get(r);  // => inner map of key r
-
-        // If the symbol isn't in the count map, add it with an initial count of 0.
-        countMap.putIfAbsent(symbol, 0);
-        countMap.put(symbol, countMap.get(symbol) + 1);     // Increment the count of the symbol in the corresponding row.
-
-        // Check if the current symbol has filled the entire row, thereby winning the game.
-        if(countMap.get(symbol) == board.getDimension()){
-            return true;  // Return true if the symbol fills the row completely.
-        }
-        return false;  // Return false if there's no win condition met yet.
+        // Increment the count of the player in the corresponding row, and check if the
+        // player has filled the entire row, thereby winning the game.
+        return ++rowCounts[r * playerCount + move.getPlayerIndex()] == dimension;
     }
 
     @Override
     public void handleUndo(Move move) {
-        // Get the row index of the cell where the undo is happening.
-        int r = move.getCell().getRow();
-
-        // Get the symbol of the player who made the move being undone.
-        Character symbol = move.getPlayer().getSymbol();
+        // Decrement the count of the player in the row of the move being undone.
+        rowCounts[move.getCell().getRow() * playerCount + move.getPlayerIndex()]--;
+    }
 
-        // Retrieve the symbol count map for the specific row.
-        HashMap<Character, Integer> countMap = rowCountMap.get(r);
+    @Override
+    public Object saveState() {
+        return rowCounts == null ? null : rowCounts.clone();
+    }
 
-        // Decrement the count of the symbol in the corresponding row due to the undo operation.
-        countMap.put(symbol, countMap.get(symbol) - 1);
+    @Override
+    public void restoreState(Object state) {
+        // Copied again, so the same saved state can be restored more than once. null is
+        // the state before the first move (counters not sized yet).
+        rowCounts = state == null ? null : ((int[]) state).clone();
     }
 }
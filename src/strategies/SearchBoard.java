@@ -0,0 +1,232 @@
+package strategies;
+
+import models.Board;
+import models.BoardSnapshot;
+import models.Player;
+import models.PlayerRegistry;
+import models.Zobrist;
+
+import java.util.List;
+
+// SearchBoard is a primitive copy of a Board used by the searching bots. Cells are stored
+// as player indices in an int[] and the pieces of every player in every winning line are
+// counted incrementally, so playing and taking back a move during search only touches the
+// lines through the cell and never allocates.
+//
+// The position key uses the same Zobrist scheme as Game.getZobristKey(), so a SearchBoard
+// loaded from a game has the same key as the game itself.
+//
+// The win rule is given as WinningLines, built from the game's winning strategies (see
+// Board.getWinningLines()): a player wins by owning every cell of one of the lines.
+public class SearchBoard {
+    public static final int EMPTY = -1;
+    public static final int BLOCKED = -2;
+
+    private final int dimension;
+    private final int playerCount;
+    private final int[] cells;        // [row * dimension + col] -> player index, EMPTY or BLOCKED
+    private final WinningLines lines;
+    private final int[] lineCounts;   // [line * playerCount + player] -> pieces of player in line
+    private final int[] lineLengths;  // [line] -> cells needed to win the line
+    private final int[] cellLineStarts;
+    private final int[] cellLines;    // lines through each cell, see WinningLines
+    private final long[] pieceKeys;   // [cell * playerCount + player] -> Zobrist.pieceKey(cell, player)
+    private final long[] turnKeys;    // [player] -> Zobrist.turnKey(player)
+    private final long emptyKey;      // Zobrist.boardKey(dimension, playerCount)
+    private int sideToMove;
+    private int emptyCount;
+    private long key;
+
+    // A board where complete rows and columns win.
+    public SearchBoard(int dimension, int playerCount) {
+        this(dimension, playerCount, WinningLines.rowsAndColumns(dimension));
+    }
+
+    public SearchBoard(int dimension, int playerCount, WinningLines lines) {
+        if (lines.getDimension() != dimension) {
+            throw new IllegalArgumentException("Winning lines are for another board size");
+        }
+        this.dimension = dimension;
+        this.playerCount = playerCount;
+        this.cells = new int[dimension * dimension];
+        this.lines = lines;
+        this.lineCounts = new int[lines.getLineCount() * playerCount];
+        this.lineLengths = lines.lengths();
+        this.cellLineStarts = lines.cellLineStarts();
+        this.cellLines = lines.cellLines();
+        this.pieceKeys = new long[dimension * dimension * playerCount];
+        this.turnKeys = new long[playerCount];
+
+        this.emptyKey = Zobrist.boardKey(dimension, playerCount);
+        for (int cell = 0; cell < cells.length; cell++) {
+            for (int p = 0; p < playerCount; p++) {
+                pieceKeys[cell * playerCount + p] = Zobrist.pieceKey(cell, p);
+            }
+        }
+        for (int p = 0; p < playerCount; p++) {
+            turnKeys[p] = Zobrist.turnKey(p);
+        }
+        clear();
+    }
+
+    // Builds a SearchBoard holding the same position as the given Board. The player to move
+    // follows from the number of filled cells, since players move in round-robin order.
+    public static SearchBoard from(Board board) {
+        List<Player> players = board.getPlayers();
+        if (players == null || players.isEmpty()) {
+            throw new IllegalStateException("Board does not know its players");
+        }
+        SearchBoard searchBoard = new SearchBoard(board.getDimension(), players.size(), linesOf(board));
+        searchBoard.load(board);
+        return searchBoard;
+    }
+
+    // The winning lines of the board's game. A search cannot play a game whose winning
+    // strategies it does not know (Game.Builder refuses such games for HARD and EXPERT bots).
+    public static WinningLines linesOf(Board board) {
+        WinningLines lines = board.getWinningLines();
+        if (lines == null) {
+            throw new IllegalStateException("The winning strategies of this game cannot be searched");
+        }
+        return lines;
+    }
+
+    // Copies the position of the given Board into this SearchBoard.
+    public void load(Board board) {
+        PlayerRegistry players = board.getPlayerRegistry();
+        clear();
+        int filled = 0;
+        for (int r = 0; r < dimension; r++) {
+            for (int c = 0; c < dimension; c++) {
+                if (board.isEmpty(r, c)) {
+                    continue;
+                }
+                Player player = board.getPlayerAt(r, c);
+                if (player == null) {
+                    block(r * dimension + c);
+                    continue;
+                }
+                place(r * dimension + c, players.indexOf(player));
+                filled++;
+            }
+        }
+        key ^= turnKeys[sideToMove];
+        sideToMove = filled % playerCount;
+        key ^= turnKeys[sideToMove];
+    }
+
+    // Copies the position of a BoardSnapshot, so a bot can search on another thread while
+    // the game goes on.
+    public void load(BoardSnapshot snapshot) {
+        clear();
+        int filled = 0;
+        for (int r = 0; r < dimension; r++) {
+            for (int c = 0; c < dimension; c++) {
+                if (snapshot.isEmpty(r, c)) {
+                    continue;
+                }
+                if (snapshot.isBlocked(r, c)) {
+                    block(r * dimension + c);
+                    continue;
+                }
+                place(r * dimension + c, snapshot.getPlayerIndexAt(r, c));
+                filled++;
+            }
+        }
+        key ^= turnKeys[sideToMove];
+        sideToMove = filled % playerCount;
+        key ^= turnKeys[sideToMove];
+    }
+
+    private void clear() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = EMPTY;
+        }
+        for (int i = 0; i < lineCounts.length; i++) {
+            lineCounts[i] = 0;
+        }
+        emptyCount = cells.length;
+        sideToMove = 0;
+        key = emptyKey ^ turnKeys[0];
+    }
+
+    // Plays the side to move on the given cell and passes the turn.
+    // Returns true if the move completes one of the winning lines.
+    public boolean play(int cell) {
+        int player = sideToMove;
+        boolean won = place(cell, player);
+        key ^= turnKeys[player];
+        sideToMove = (player + 1) % playerCount;
+        key ^= turnKeys[sideToMove];
+        return won;
+    }
+
+    // Takes back the move on the given cell, which must be the last move played.
+    public void undo(int cell) {
+        int player = cells[cell];
+        cells[cell] = EMPTY;
+        emptyCount++;
+        for (int i = cellLineStarts[cell]; i < cellLineStarts[cell + 1]; i++) {
+            lineCounts[cellLines[i] * playerCount + player]--;
+        }
+        key ^= pieceKeys[cell * playerCount + player] ^ turnKeys[sideToMove] ^ turnKeys[player];
+        sideToMove = player;
+    }
+
+    private void block(int cell) {
+        cells[cell] = BLOCKED;
+        emptyCount--;
+        key ^= Zobrist.blockedKey(cell);
+    }
+
+    private boolean place(int cell, int player) {
+        cells[cell] = player;
+        emptyCount--;
+        key ^= pieceKeys[cell * playerCount + player];
+        boolean won = false;
+        for (int i = cellLineStarts[cell]; i < cellLineStarts[cell + 1]; i++) {
+            int line = cellLines[i];
+            if (++lineCounts[line * playerCount + player] == lineLengths[line]) {
+                won = true;
+            }
+        }
+        return won;
+    }
+
+    public boolean isEmpty(int cell) {
+        return cells[cell] == EMPTY;
+    }
+
+    public int getCell(int cell) {
+        return cells[cell];
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getEmptyCount() {
+        return emptyCount;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public WinningLines getWinningLines() {
+        return lines;
+    }
+
+    // Number of pieces the player has in the given winning line.
+    public int getLineCount(int line, int player) {
+        return lineCounts[line * playerCount + player];
+    }
+}
@@ -0,0 +1,192 @@
+package strategies;
+
+import models.Board;
+import models.BoardSymmetry;
+import models.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Perfect-play table for two player games on a small board, written by TablebaseGenerator
+// and read through a memory-mapped file.
+//
+// A position is indexed in base 3: index = sum(digit(cell) * 3^cell) with cell = row *
+// dimension + col and digit 0 for empty, 1 for the first player of Board.getPlayers() and
+// 2 for the second. The first player always moves first, so the side to move follows from
+// the number of pieces. Only the canonical form of a position is stored: the smallest
+// index among its rotations and reflections that keep the rules (WinningLines
+// getSymmetries(): all 8 for rows + columns, only 4 for rows alone, since a quarter turn
+// makes a row a column).
+//
+// File layout (big endian):
+//   0  int   MAGIC
+//   4  byte  VERSION
+//   5  byte  dimension
+//   6  byte  player count (always 2)
+//   7  byte  rules (ROWS | COLUMNS | DIAGONALS)
+//   8  long  entry count (3^(dimension^2))
+//   16 byte  one entry per index: bits 0-1 the outcome for the side to move (0 when the
+//            position is not in the table), bits 2-7 the best cell in the canonical frame.
+public class Tablebase {
+    public static final int ROWS = 1;
+    public static final int COLUMNS = 2;
+    public static final int DIAGONALS = 4;
+
+    public static final int LOSS = 1;
+    public static final int DRAW = 2;
+    public static final int WIN = 3;
+
+    static final int MAGIC = 0x54545442;   // "TTTB"
+    static final int VERSION = 2;   // version 1 folded positions under all 8 symmetries
+    static final int HEADER_SIZE = 16;
+    static final int MAX_DIMENSION = 4;    // 3^25 entries would not fit a file anyway
+
+    private final int dimension;
+    private final int rules;
+    private final WinningLines lines;
+    private final MappedByteBuffer entries;
+    private final int[][] transforms;
+    private final int[] powers;
+
+    private Tablebase(int dimension, int rules, MappedByteBuffer entries) {
+        this.dimension = dimension;
+        this.rules = rules;
+        this.lines = WinningLines.ofTablebaseRules(dimension, rules);
+        this.entries = entries;
+        this.transforms = transforms(dimension, rules);
+        this.powers = powers(dimension * dimension);
+    }
+
+    // Maps the table file at the given path.
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.get(4) != VERSION) {
+                throw new IOException(path + " is not a tablebase file");
+            }
+            int dimension = header.get(5);
+            int rules = header.get(7);
+            long count = header.getLong(8);
+            if (dimension < 1 || dimension > MAX_DIMENSION || header.get(6) != 2
+                    || count != powers(dimension * dimension + 1)[dimension * dimension]
+                    || channel.size() != HEADER_SIZE + count) {
+                throw new IOException(path + " is damaged");
+            }
+            // The mapping stays valid after the channel is closed.
+            return new Tablebase(dimension, rules, channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, count));
+        }
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    // Winning lines the table was solved for (ROWS | COLUMNS | DIAGONALS).
+    public int getRules() {
+        return rules;
+    }
+
+    // Looks up the position on the board. Returns 0 if the table does not cover it (other
+    // board size, player count or winning lines, blocked cells, finished or unreachable
+    // positions), otherwise an entry to read with outcome() and move(), with the move
+    // already mapped back to the board's orientation.
+    public int probe(Board board) {
+        List<Player> players = board.getPlayers();
+        if (board.getDimension() != dimension || players == null || players.size() != 2) {
+            return 0;
+        }
+        // A game whose winning strategies WinningLines does not know plays other rules.
+        WinningLines boardLines = board.getWinningLines();
+        if (boardLines == null || boardLines.getKey() != lines.getKey()) {
+            return 0;
+        }
+
+        // Index of the position under each symmetry of the rules, the smallest one is stored.
+        int cellCount = dimension * dimension;
+        int best = Integer.MAX_VALUE;
+        int bestTransform = 0;
+        for (int t = 0; t < transforms.length; t++) {
+            int[] transform = transforms[t];
+            int index = 0;
+            for (int cell = 0; cell < cellCount; cell++) {
+                int digit = digit(board, players, cell);
+                if (digit < 0) {
+                    return 0;
+                }
+                index += digit * powers[transform[cell]];
+            }
+            if (index < best) {
+                best = index;
+                bestTransform = t;
+            }
+        }
+        int entry = entries.get(best) & 0xFF;
+        if (outcome(entry) == 0) {
+            return 0;
+        }
+        // The stored move is in the canonical frame, find the board cell it came from.
+        int canonicalMove = move(entry);
+        int[] transform = transforms[bestTransform];
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (transform[cell] == canonicalMove) {
+                return outcome(entry) | cell << 2;
+            }
+        }
+        return 0;
+    }
+
+    private int digit(Board board, List<Player> players, int cell) {
+        int row = cell / dimension;
+        int col = cell % dimension;
+        if (board.isEmpty(row, col)) {
+            return 0;
+        }
+        Player player = board.getPlayerAt(row, col);
+        if (player == players.get(0)) {
+            return 1;
+        } else if (player == players.get(1)) {
+            return 2;
+        }
+        return -1;   // blocked cell, or a player the table does not know
+    }
+
+    // Outcome for the side to move: LOSS, DRAW or WIN.
+    public static int outcome(int entry) {
+        return entry & 3;
+    }
+
+    // Cell (row * dimension + col) of the best move.
+    public static int move(int entry) {
+        return entry >>> 2;
+    }
+
+    // The symmetries of a square board that keep the rules' winning lines, as
+    // [transform][cell] -> cell it is moved to. The identity is always the first one.
+    static int[][] transforms(int dimension, int rules) {
+        int[][] all = BoardSymmetry.transforms(dimension);
+        int[] kept = WinningLines.ofTablebaseRules(dimension, rules).getSymmetries();
+        int[][] transforms = new int[kept.length][];
+        for (int i = 0; i < kept.length; i++) {
+            transforms[i] = all[kept[i]];
+        }
+        return transforms;
+    }
+
+    // 3^0 .. 3^(count - 1).
+    static int[] powers(int count) {
+        int[] powers = new int[count];
+        int power = 1;
+        for (int i = 0; i < count; i++) {
+            powers[i] = power;
+            power *= 3;
+        }
+        return powers;
+    }
+}
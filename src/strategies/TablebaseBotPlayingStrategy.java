@@ -0,0 +1,34 @@
+package strategies;
+
+import models.Board;
+import models.Cell;
+
+// Bot plays perfectly by looking the position up in a precomputed Tablebase, which is
+// O(1) instead of a search. Positions the table does not cover (another board size,
+// more than two players, blocked cells) are handed to the fallback strategy.
+//
+// The table has to be generated for the rules the game is played with, see
+// Tablebase.getRules().
+public class TablebaseBotPlayingStrategy implements BotPlayingStrategy {
+    private final Tablebase tablebase;
+    private final BotPlayingStrategy fallback;
+
+    public TablebaseBotPlayingStrategy(Tablebase tablebase, BotPlayingStrategy fallback) {
+        this.tablebase = tablebase;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Cell makeMove(Board board) {
+        int entry = tablebase.probe(board);
+        if (entry == 0) {
+            return fallback.makeMove(board);
+        }
+        int cell = Tablebase.move(entry);
+        return board.getCell(cell / board.getDimension(), cell % board.getDimension());
+    }
+
+    public Tablebase getTablebase() {
+        return tablebase;
+    }
+}
@@ -0,0 +1,172 @@
+package strategies;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Solves every position reachable from the empty board of a two player game and writes the
+// result as a Tablebase file (layout documented in Tablebase).
+//
+// The solver is a plain negamax over all moves, memoized on the canonical index, so each
+// position is solved once for all its rotations and reflections that keep the rules. The
+// index under each of those symmetries is updated incrementally on every move. Among
+// moves with the same outcome it prefers the fastest win and the slowest loss.
+//
+// Run: java strategies.TablebaseGenerator [dimension] [file] [rules]
+//      rules 3 (rows + columns) matches RowWinningStrategy + ColumnWinningStrategy,
+//      rules 7 (with diagonals) matches LineWinningStrategy.
+//      e.g. java strategies.TablebaseGenerator 4 tablebase-4x4.bin 3
+public class TablebaseGenerator {
+    private final int dimension;
+    private final int cellCount;
+    private final int rules;
+    private final int[][] transforms;
+    private final int[] powers;
+    private final WinningLines lines;
+    private final int[][] cellLines;    // [cell] -> lines through the cell
+    private final int[][] lineCounts;   // [player][line] -> pieces of player in line
+
+    private final int[] cells;          // 0 empty, 1 first player, 2 second player
+    private final int[] indices;        // index of the position under each symmetry
+    private final byte[] entries;       // the table being built
+    private final byte[] scores;        // solved score of every entry, see solve()
+    private long solved;
+
+    public TablebaseGenerator(int dimension, int rules) {
+        if (dimension < 1 || dimension > Tablebase.MAX_DIMENSION) {
+            throw new IllegalArgumentException("Tablebase supports boards up to "
+                    + Tablebase.MAX_DIMENSION + "x" + Tablebase.MAX_DIMENSION);
+        }
+        this.dimension = dimension;
+        this.cellCount = dimension * dimension;
+        this.rules = rules;
+        this.transforms = Tablebase.transforms(dimension, rules);
+        this.powers = Tablebase.powers(cellCount + 1);
+        this.lines = WinningLines.ofTablebaseRules(dimension, rules);
+        this.cellLines = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellLines[cell] = new int[lines.getLineCountThrough(cell)];
+            for (int i = 0; i < cellLines[cell].length; i++) {
+                cellLines[cell][i] = lines.getLineThrough(cell, i);
+            }
+        }
+        this.lineCounts = new int[2][lines.getLineCount()];
+        this.cells = new int[cellCount];
+        this.indices = new int[transforms.length];
+        this.entries = new byte[powers[cellCount]];
+        this.scores = new byte[powers[cellCount]];
+    }
+
+    // Solves the game from the empty board and writes the table to the given file.
+    public void generate(Path path) throws IOException {
+        solve(0, cellCount);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_SIZE);
+            header.putInt(Tablebase.MAGIC);
+            header.put((byte) Tablebase.VERSION);
+            header.put((byte) dimension);
+            header.put((byte) 2);
+            header.put((byte) rules);
+            header.putLong(entries.length);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer body = ByteBuffer.wrap(entries);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+    // Number of canonical positions solved.
+    public long getSolvedCount() {
+        return solved;
+    }
+
+    // Score of the position for the side to move: 0 for a draw, otherwise positive for a
+    // win and negative for a loss, larger the more cells are still empty when it ends.
+    private int solve(int player, int empty) {
+        int canonical = Integer.MAX_VALUE;
+        int canonicalTransform = 0;
+        for (int t = 0; t < indices.length; t++) {
+            if (indices[t] < canonical) {
+                canonical = indices[t];
+                canonicalTransform = t;
+            }
+        }
+        if (entries[canonical] != 0) {
+            return scores[canonical];
+        }
+
+        int bestScore = Integer.MIN_VALUE;
+        int bestMove = -1;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cells[cell] != 0) {
+                continue;
+            }
+            int score;
+            if (play(cell, player)) {
+                score = empty;   // cells left after the move, plus one
+            } else if (empty == 1) {
+                score = 0;
+            } else {
+                score = -solve(1 - player, empty - 1);
+            }
+            undo(cell, player);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = cell;
+            }
+        }
+
+        int outcome = bestScore > 0 ? Tablebase.WIN : bestScore < 0 ? Tablebase.LOSS : Tablebase.DRAW;
+        entries[canonical] = (byte) (outcome | transforms[canonicalTransform][bestMove] << 2);
+        scores[canonical] = (byte) bestScore;
+        solved++;
+        return bestScore;
+    }
+
+    // Places the player's piece and returns true if it completes a line.
+    private boolean play(int cell, int player) {
+        cells[cell] = player + 1;
+        for (int t = 0; t < indices.length; t++) {
+            indices[t] += (player + 1) * powers[transforms[t][cell]];
+        }
+        boolean won = false;
+        for (int line : cellLines[cell]) {
+            if (++lineCounts[player][line] == lines.getLength(line)) {
+                won = true;
+            }
+        }
+        return won;
+    }
+
+    private void undo(int cell, int player) {
+        cells[cell] = 0;
+        for (int t = 0; t < indices.length; t++) {
+            indices[t] -= (player + 1) * powers[transforms[t][cell]];
+        }
+        for (int line : cellLines[cell]) {
+            lineCounts[player][line]--;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        Path path = Paths.get(args.length > 1 ? args[1] : "tablebase-" + dimension + "x" + dimension + ".bin");
+        // Rows and columns, the rules of RowWinningStrategy + ColumnWinningStrategy.
+        int rules = args.length > 2 ? Integer.parseInt(args[2]) : Tablebase.ROWS | Tablebase.COLUMNS;
+
+        long start = System.nanoTime();
+        TablebaseGenerator generator = new TablebaseGenerator(dimension, rules);
+        generator.generate(path);
+        System.out.printf("Solved %,d positions (up to symmetry) in %.1f s, wrote %s%n",
+                generator.getSolvedCount(), (System.nanoTime() - start) / 1e9, path);
+    }
+}
@@ -0,0 +1,88 @@
+package strategies;
+
+// Fixed size transposition table for the searching bots. Each slot stores a position key
+// and one packed long (best move, depth, bound type and score), so the table never grows
+// past the size chosen at construction.
+//
+// The slot stores (key ^ data) next to data. A reader only accepts an entry when both
+// halves agree, which means a torn write from another thread simply reads as a miss.
+public class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final int SCORE_OFFSET = 1 << 23;
+    private static final long VALID = 1L << 50;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    // Creates a table with 2^sizeBits slots (16 bytes per slot).
+    public TranspositionTable(int sizeBits) {
+        int size = 1 << sizeBits;
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    // Returns the packed entry stored for the key, or 0 if there is none.
+    public long probe(long key) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        long entry = data[slot];
+        if ((keys[slot] ^ entry) != key || entry == 0) {
+            return 0;
+        }
+        return entry;
+    }
+
+    // Stores an entry. A slot holding the same position is only replaced by an equal or
+    // deeper search, a slot holding another position is always replaced.
+    public void store(long key, int move, int depth, int bound, int score) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        long old = data[slot];
+        if ((keys[slot] ^ old) == key && old != 0 && depth(old) > depth) {
+            return;
+        }
+        long entry = pack(move, depth, bound, score);
+        data[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    public void clear() {
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 0;
+            keys[i] = 0;
+        }
+    }
+
+    public int size() {
+        return data.length;
+    }
+
+    // Packs the fields into an entry (never 0), e.g. to keep a result in an EvaluationCache.
+    public static long pack(int move, int depth, int bound, int score) {
+        return VALID
+                | ((long) (score + SCORE_OFFSET) << 26)
+                | ((long) bound << 24)
+                | ((long) Math.min(depth, 255) << 16)
+                | (move + 1);
+    }
+
+    // Accessors for the fields of a packed entry returned by probe().
+    public static int move(long entry) {
+        return (int) (entry & 0xFFFF) - 1;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 16) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 24) & 0x3;
+    }
+
+    public static int score(long entry) {
+        return (int) ((entry >>> 26) & 0xFFFFFF) - SCORE_OFFSET;
+    }
+}
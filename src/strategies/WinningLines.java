@@ -0,0 +1,256 @@
+package strategies;
+
+import models.BoardSymmetry;
+import models.Zobrist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// The winning lines of a game, for the bots that search on a SearchBoard instead of asking
+// the game's WinningStrategy objects. A line is a run of cells (start cell, step between
+// its cells, length) and a player wins by owning every cell of one line:
+//
+//   RowWinningStrategy      -> every row
+//   ColumnWinningStrategy   -> every column
+//   LineWinningStrategy     -> every row, every column and both diagonals
+//   KInARowWinningStrategy  -> every run of K cells, horizontal, vertical or diagonal
+//
+// of() returns null when a strategy is none of these (a custom WinningStrategy): a search
+// would then play by other rules than the game, so the searching bots refuse such games.
+//
+// Instances are immutable and can be shared by any number of boards and threads.
+public final class WinningLines {
+    private final int dimension;
+    private final int[] starts;          // [line] -> first cell
+    private final int[] steps;           // [line] -> distance between two cells of the line
+    private final int[] lengths;         // [line] -> cells in the line
+    private final int[] cellLineStarts;  // lines through cell c: cellLines[cellLineStarts[c] .. cellLineStarts[c + 1] - 1]
+    private final int[] cellLines;
+    private final int[] symmetries;      // board transforms (see BoardSymmetry) that map the lines onto themselves
+    private final long key;
+
+    private WinningLines(int dimension, List<int[]> lines) {
+        int cellCount = dimension * dimension;
+        this.dimension = dimension;
+        this.starts = new int[lines.size()];
+        this.steps = new int[lines.size()];
+        this.lengths = new int[lines.size()];
+        long key = 0;
+        int[] throughCount = new int[cellCount];
+        for (int line = 0; line < lines.size(); line++) {
+            int[] l = lines.get(line);
+            starts[line] = l[0];
+            steps[line] = l[1];
+            lengths[line] = l[2];
+            key ^= Zobrist.lineKey(l[0], l[1], l[2]);
+            for (int i = 0; i < l[2]; i++) {
+                throughCount[l[0] + i * l[1]]++;
+            }
+        }
+        this.key = key;
+
+        this.cellLineStarts = new int[cellCount + 1];
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellLineStarts[cell + 1] = cellLineStarts[cell] + throughCount[cell];
+        }
+        this.cellLines = new int[cellLineStarts[cellCount]];
+        int[] next = new int[cellCount];
+        for (int line = 0; line < starts.length; line++) {
+            for (int i = 0; i < lengths[line]; i++) {
+                int cell = starts[line] + i * steps[line];
+                cellLines[cellLineStarts[cell] + next[cell]++] = line;
+            }
+        }
+
+        // A transform is a symmetry of the rules if every line is moved onto a line.
+        Set<Long> codes = new HashSet<>();
+        for (int[] l : lines) {
+            codes.add(code(l[0], l[1], l[2]));
+        }
+        int[][] transforms = BoardSymmetry.transforms(dimension);
+        int[] symmetries = new int[transforms.length];
+        int count = 0;
+        for (int t = 0; t < transforms.length; t++) {
+            boolean preserved = true;
+            for (int line = 0; line < starts.length && preserved; line++) {
+                int[] moved = new int[lengths[line]];
+                for (int i = 0; i < moved.length; i++) {
+                    moved[i] = transforms[t][starts[line] + i * steps[line]];
+                }
+                Arrays.sort(moved);
+                int step = moved.length > 1 ? moved[1] - moved[0] : 0;
+                preserved = codes.contains(code(moved[0], step, moved.length));
+            }
+            if (preserved) {
+                symmetries[count++] = t;
+            }
+        }
+        this.symmetries = Arrays.copyOf(symmetries, count);
+    }
+
+    // The lines of the given winning strategies on a board of the given dimension, or null
+    // if one of the strategies is not known (see above). No strategies -> no lines.
+    public static WinningLines of(int dimension, List<WinningStrategy> strategies) {
+        Builder builder = new Builder(dimension);
+        for (WinningStrategy strategy : strategies == null ? List.<WinningStrategy>of() : strategies) {
+            if (strategy instanceof RowWinningStrategy) {
+                builder.rows(dimension);
+            } else if (strategy instanceof ColumnWinningStrategy) {
+                builder.columns(dimension);
+            } else if (strategy instanceof LineWinningStrategy) {
+                builder.rows(dimension);
+                builder.columns(dimension);
+                builder.diagonals(dimension);
+            } else if (strategy instanceof KInARowWinningStrategy) {
+                int k = ((KInARowWinningStrategy) strategy).getK();
+                builder.rows(k);
+                builder.columns(k);
+                builder.diagonals(k);
+            } else {
+                return null;
+            }
+        }
+        return builder.build();
+    }
+
+    // Complete rows and columns, the rules of RowWinningStrategy + ColumnWinningStrategy.
+    public static WinningLines rowsAndColumns(int dimension) {
+        Builder builder = new Builder(dimension);
+        builder.rows(dimension);
+        builder.columns(dimension);
+        return builder.build();
+    }
+
+    // The lines of a Tablebase rule set (Tablebase.ROWS | COLUMNS | DIAGONALS).
+    static WinningLines ofTablebaseRules(int dimension, int rules) {
+        Builder builder = new Builder(dimension);
+        if ((rules & Tablebase.ROWS) != 0) {
+            builder.rows(dimension);
+        }
+        if ((rules & Tablebase.COLUMNS) != 0) {
+            builder.columns(dimension);
+        }
+        if ((rules & Tablebase.DIAGONALS) != 0) {
+            builder.diagonals(dimension);
+        }
+        return builder.build();
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getLineCount() {
+        return starts.length;
+    }
+
+    public int getLength(int line) {
+        return lengths[line];
+    }
+
+    // The i-th cell (row * dimension + col) of the line.
+    public int getCell(int line, int i) {
+        return starts[line] + i * steps[line];
+    }
+
+    // Lines through the cell are getLineThrough(cell, 0 .. getLineCountThrough(cell) - 1).
+    public int getLineCountThrough(int cell) {
+        return cellLineStarts[cell + 1] - cellLineStarts[cell];
+    }
+
+    public int getLineThrough(int cell, int i) {
+        return cellLines[cellLineStarts[cell] + i];
+    }
+
+    // Used by the loops of SearchBoard, which read the arrays directly.
+    int[] cellLineStarts() {
+        return cellLineStarts;
+    }
+
+    int[] cellLines() {
+        return cellLines;
+    }
+
+    int[] lengths() {
+        return lengths;
+    }
+
+    // Board transforms (indices as in BoardSymmetry) under which the rules stay the same.
+    // Positions may only be folded onto their rotations and reflections with these: with
+    // rows only, for example, a quarter turn makes a won row a column, which does not win.
+    public int[] getSymmetries() {
+        return symmetries.clone();
+    }
+
+    // True if all 8 rotations and reflections keep the rules, so a position can be
+    // replaced by its canonical form (BoardSymmetry.getCanonicalKey()).
+    public boolean isSymmetric() {
+        return symmetries.length == BoardSymmetry.TRANSFORMS;
+    }
+
+    // Fingerprint of the set of lines, for caches shared by games with different rules.
+    public long getKey() {
+        return key;
+    }
+
+    private static long code(int start, int step, int length) {
+        return (long) start | (long) step << 21 | (long) length << 42;
+    }
+
+    // Collects the lines, dropping duplicates (e.g. rows given by two strategies).
+    private static final class Builder {
+        private final int dimension;
+        private final List<int[]> lines = new ArrayList<>();
+        private final Set<Long> codes = new HashSet<>();
+
+        Builder(int dimension) {
+            this.dimension = dimension;
+        }
+
+        // Every run of the given length along each row.
+        void rows(int length) {
+            for (int r = 0; r < dimension; r++) {
+                for (int c = 0; c + length <= dimension; c++) {
+                    add(r * dimension + c, 1, length);
+                }
+            }
+        }
+
+        void columns(int length) {
+            for (int c = 0; c < dimension; c++) {
+                for (int r = 0; r + length <= dimension; r++) {
+                    add(r * dimension + c, dimension, length);
+                }
+            }
+        }
+
+        // Every run of the given length along both diagonal directions.
+        void diagonals(int length) {
+            for (int r = 0; r + length <= dimension; r++) {
+                for (int c = 0; c + length <= dimension; c++) {
+                    add(r * dimension + c, dimension + 1, length);
+                    add(r * dimension + c + length - 1, dimension - 1, length);
+                }
+            }
+        }
+
+        private void add(int start, int step, int length) {
+            if (length < 1) {
+                return;
+            }
+            if (length == 1) {
+                step = 0;   // a single cell, whichever direction it came from
+            }
+            if (codes.add(code(start, step, length))) {
+                lines.add(new int[]{start, step, length});
+            }
+        }
+
+        WinningLines build() {
+            return new WinningLines(dimension, lines);
+        }
+    }
+}
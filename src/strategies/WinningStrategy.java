@@ -6,4 +6,14 @@ import models.Move;
 public interface WinningStrategy {
     public boolean checkWinner(Board board, Move move);
     public void handleUndo(Move move);
+
+    // Copy of the strategy's counters, so Game can restore them at a checkpoint instead
+    // of replaying every move (see Game.rewindTo). Strategies that only read the board
+    // have no state of their own and keep these defaults.
+    default Object saveState() {
+        return null;
+    }
+
+    default void restoreState(Object state) {
+    }
 }
@@ -0,0 +1,30 @@
+package validations.gameValidations;
+
+import exceptions.UnsupportedWinningStrategyException;
+import models.BotPlayer;
+import models.BotPlayingDifficulty;
+import models.Player;
+import strategies.WinningLines;
+import strategies.WinningStrategy;
+
+import java.util.List;
+
+public class SearchableWinningStrategies {
+    // HARD and EXPERT bots search on their own copy of the board (SearchBoard), which only
+    // knows the winning strategies WinningLines can describe. With any other strategy they
+    // would play for the wrong lines, so such a game is refused upfront.
+    public static void validate(int dimension, List<Player> players, List<WinningStrategy> winningStrategies)
+            throws UnsupportedWinningStrategyException {
+        if (WinningLines.of(dimension, winningStrategies) != null) {
+            return;
+        }
+        for(Player player : players){
+            if(player instanceof BotPlayer){
+                BotPlayingDifficulty difficulty = ((BotPlayer) player).getBotPlayingDifficulty();
+                if(difficulty == BotPlayingDifficulty.HARD || difficulty == BotPlayingDifficulty.EXPERT){
+                    throw new UnsupportedWinningStrategyException(difficulty + " bots cannot play with these winning strategies");
+                }
+            }
+        }
+    }
+}
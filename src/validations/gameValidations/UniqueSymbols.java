@@ -0,0 +1,20 @@
+package validations.gameValidations;
+
+import exceptions.DuplicateSymbolException;
+import models.Player;
+
+import java.util.List;
+
+public class UniqueSymbols {
+    // Every player needs a symbol of its own, otherwise the board cannot tell them apart.
+    // There are fewer players than the board dimension, so comparing every pair is enough.
+    public static void validate(List<Player> players) throws DuplicateSymbolException {
+        for(int i = 0; i < players.size(); i++){
+            for(int j = 0; j < i; j++){
+                if(players.get(i).getSymbol().equals(players.get(j).getSymbol())){
+                    throw new DuplicateSymbolException("Symbol " + players.get(i).getSymbol() + " is used by more than one player");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package validations.moveValidations;
+
+import models.Board;
+
+// One check of a move, run by a MoveValidator. A rule is only asked about cells inside the
+// board, and returns VALID or the reason the move is refused (RULE_VIOLATED for rules of
+// its own). Rules are called on every move, so they should not allocate.
+public interface MoveRule {
+    MoveValidationResult check(Board board, int row, int col);
+}
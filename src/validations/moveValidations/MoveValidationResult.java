@@ -0,0 +1,23 @@
+package validations.moveValidations;
+
+// Outcome of checking a move. Callers that talk to a person print getMessage(), the
+// server just maps anything but VALID to a rejection, so the check itself never prints
+// or throws.
+public enum MoveValidationResult {
+    VALID(""),
+    OUT_OF_BOUNDS("Invalid Move, Please try again!"),
+    CELL_BLOCKED("Cell is blocked, Please try again!"),
+    CELL_FILLED("Cell already filled, Please try again!"),
+    GAME_OVER("Game is already over!"),
+    RULE_VIOLATED("Move not allowed, Please try again!");
+
+    private final String message;
+
+    MoveValidationResult(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
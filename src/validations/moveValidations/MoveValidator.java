@@ -0,0 +1,50 @@
+package validations.moveValidations;
+
+import models.Board;
+
+import java.util.List;
+
+// The move checks of one game, put together once when the game is built: the bounds of its
+// board, the StandardMoveRules and then any rules added to the game builder, in an array.
+// validate() runs them in order and stops at the first refusal, without allocating,
+// printing or throwing, so bad moves can be rejected at any rate.
+public final class MoveValidator {
+    private static final StandardMoveRule[] STANDARD_RULES = StandardMoveRule.values();
+
+    private final int dimension;
+    private final MoveRule[] rules;
+
+    private MoveValidator(int dimension, MoveRule[] rules) {
+        this.dimension = dimension;
+        this.rules = rules;
+    }
+
+    // Builds the validator for boards of the given dimension with the extra rules (may be
+    // empty) after the standard ones.
+    public static MoveValidator compile(int dimension, List<MoveRule> extraRules) {
+        MoveRule[] rules = new MoveRule[STANDARD_RULES.length + extraRules.size()];
+        System.arraycopy(STANDARD_RULES, 0, rules, 0, STANDARD_RULES.length);
+        for (int i = 0; i < extraRules.size(); i++) {
+            rules[STANDARD_RULES.length + i] = extraRules.get(i);
+        }
+        return new MoveValidator(dimension, rules);
+    }
+
+    public MoveValidationResult validate(Board board, int row, int col) {
+        // Bounds first, every other rule reads the cell.
+        if (row < 0 || row >= dimension || col < 0 || col >= dimension) {
+            return MoveValidationResult.OUT_OF_BOUNDS;
+        }
+        for (int i = 0; i < rules.length; i++) {
+            MoveValidationResult result = rules[i].check(board, row, col);
+            if (result != MoveValidationResult.VALID) {
+                return result;
+            }
+        }
+        return MoveValidationResult.VALID;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+}
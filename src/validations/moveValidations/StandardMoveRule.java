@@ -0,0 +1,19 @@
+package validations.moveValidations;
+
+import models.Board;
+
+// The rules every game checks, in this order, before the rules added to the game builder.
+public enum StandardMoveRule implements MoveRule {
+    NOT_BLOCKED {
+        @Override
+        public MoveValidationResult check(Board board, int row, int col) {
+            return board.isBlocked(row, col) ? MoveValidationResult.CELL_BLOCKED : MoveValidationResult.VALID;
+        }
+    },
+    NOT_FILLED {
+        @Override
+        public MoveValidationResult check(Board board, int row, int col) {
+            return board.isEmpty(row, col) ? MoveValidationResult.VALID : MoveValidationResult.CELL_FILLED;
+        }
+    }
+}
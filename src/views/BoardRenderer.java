@@ -0,0 +1,218 @@
+package views;
+
+import models.Board;
+import models.BoardSnapshot;
+import models.Player;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Draws boards to the console (or any OutputStream) a whole frame at a time: the frame is
+// built in a reusable byte buffer and written with a single call, instead of one print per
+// cell. After the first frame no allocation is needed unless the board grows.
+//
+// render() writes the plain board, one "| X |" per cell and a line per row, like
+// Board.display() always did. renderDiff() is for ANSI terminals showing a live board: the
+// first frame clears the screen and draws the board at the top, later frames only move the
+// cursor to the cells that changed since the previous frame and redraw those. Every diff
+// frame ends below the board and erases the rest of the screen, so the text printed there
+// (prompts, messages of the last turn) starts over on each frame.
+//
+// A renderer is meant for one output; its methods are synchronized so frames of different
+// threads never interleave.
+public class BoardRenderer {
+    private static final int CELL_WIDTH = 5;   // "| X |"
+    private static final byte ESC = 0x1B;
+
+    private final OutputStream out;
+    private byte[] frame = new byte[1024];
+    private int length;
+    private char[] symbols = new char[0];   // symbol of every cell of the board being drawn
+    private char[] shown;                   // what renderDiff last put on screen, null if nothing
+    private int shownDimension;
+
+    // Renders to System.out (the current one, so it follows System.setOut).
+    public BoardRenderer() {
+        this(null);
+    }
+
+    public BoardRenderer(OutputStream out) {
+        this.out = out;
+    }
+
+    public synchronized void render(Board board) {
+        appendBoard(load(board));
+        write();
+    }
+
+    public synchronized void render(BoardSnapshot snapshot) {
+        appendBoard(load(snapshot));
+        write();
+    }
+
+    public synchronized void renderDiff(Board board) {
+        appendDiff(load(board));
+        write();
+    }
+
+    public synchronized void renderDiff(BoardSnapshot snapshot) {
+        appendDiff(load(snapshot));
+        write();
+    }
+
+    // Forgets what is on screen, so the next renderDiff draws a full frame (e.g. after
+    // something else printed over the board).
+    public synchronized void invalidate() {
+        shown = null;
+    }
+
+    private int load(Board board) {
+        int dimension = board.getDimension();
+        prepare(dimension);
+        for (int r = 0; r < dimension; r++) {
+            for (int c = 0; c < dimension; c++) {
+                char symbol = '_';
+                if (!board.isEmpty(r, c)) {
+                    Player player = board.getPlayerAt(r, c);
+                    symbol = player == null ? '#' : player.getSymbol();
+                }
+                symbols[r * dimension + c] = symbol;
+            }
+        }
+        return dimension;
+    }
+
+    private int load(BoardSnapshot snapshot) {
+        int dimension = snapshot.getDimension();
+        prepare(dimension);
+        for (int r = 0; r < dimension; r++) {
+            for (int c = 0; c < dimension; c++) {
+                Player player = snapshot.getPlayerAt(r, c);
+                symbols[r * dimension + c] = player != null ? player.getSymbol() : snapshot.isBlocked(r, c) ? '#' : '_';
+            }
+        }
+        return dimension;
+    }
+
+    private void prepare(int dimension) {
+        int cellCount = dimension * dimension;
+        if (symbols.length != cellCount) {
+            symbols = new char[cellCount];
+        }
+        // Worst case: a cursor move before every cell, symbols of 3 UTF-8 bytes.
+        int capacity = cellCount * (CELL_WIDTH + 2 + 16) + dimension + 64;
+        if (frame.length < capacity) {
+            frame = new byte[capacity];
+        }
+        length = 0;
+    }
+
+    private void appendBoard(int dimension) {
+        for (int r = 0; r < dimension; r++) {
+            for (int c = 0; c < dimension; c++) {
+                appendCell(symbols[r * dimension + c]);
+            }
+            put('\n');
+        }
+    }
+
+    private void appendDiff(int dimension) {
+        if (shown == null || shownDimension != dimension) {
+            // Cursor home and clear screen, then the whole board.
+            put(ESC);
+            put('[');
+            put('H');
+            put(ESC);
+            put('[');
+            put('2');
+            put('J');
+            appendBoard(dimension);
+            shown = symbols.clone();
+            shownDimension = dimension;
+            return;
+        }
+        for (int r = 0; r < dimension; r++) {
+            // Cells changed next to each other in a row share one cursor move.
+            boolean inRun = false;
+            for (int c = 0; c < dimension; c++) {
+                int cell = r * dimension + c;
+                if (symbols[cell] == shown[cell]) {
+                    inRun = false;
+                    continue;
+                }
+                if (!inRun) {
+                    moveCursor(r + 1, c * CELL_WIDTH + 1);
+                    inRun = true;
+                }
+                appendCell(symbols[cell]);
+                shown[cell] = symbols[cell];
+            }
+        }
+        moveCursor(dimension + 1, 1);   // back below the board
+        eraseBelow();
+    }
+
+    // ESC [ J, clears from the cursor to the end of the screen.
+    private void eraseBelow() {
+        put(ESC);
+        put('[');
+        put('J');
+    }
+
+    private void appendCell(char symbol) {
+        put('|');
+        put(' ');
+        putChar(symbol);
+        put(' ');
+        put('|');
+    }
+
+    // ESC [ row ; col H, 1-based.
+    private void moveCursor(int row, int col) {
+        put(ESC);
+        put('[');
+        putInt(row);
+        put(';');
+        putInt(col);
+        put('H');
+    }
+
+    private void putInt(int value) {
+        if (value >= 10) {
+            putInt(value / 10);
+        }
+        put('0' + value % 10);
+    }
+
+    // UTF-8 encoding of a char (symbols are single chars, so no surrogate pairs).
+    private void putChar(char ch) {
+        if (ch < 0x80) {
+            put(ch);
+        } else if (ch < 0x800) {
+            put(0xC0 | ch >> 6);
+            put(0x80 | ch & 0x3F);
+        } else {
+            put(0xE0 | ch >> 12);
+            put(0x80 | ch >> 6 & 0x3F);
+            put(0x80 | ch & 0x3F);
+        }
+    }
+
+    private void put(int b) {
+        frame[length++] = (byte) b;
+    }
+
+    private void write() {
+        if (length == 0) {
+            return;
+        }
+        OutputStream target = out != null ? out : System.out;
+        try {
+            target.write(frame, 0, length);
+            target.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}